@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Field of a {@link com.dilipkumarg.qb.annotations.Table} entity, with the column factory and the
+ * {@link java.sql.ResultSet} getter of its type.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+class EntityColumn {
+    private final String fieldName;
+    private final String columnName;
+    private final String constantName;
+    private final String setter;
+    private final boolean assignable;
+    // Column class and factory method of AbstractSqlTable.
+    private final String columnClass;
+    private final String columnFactory;
+    // Expression reading the column from a ResultSet with %s for the index, null when not supported.
+    private final String getter;
+
+    EntityColumn(String fieldName, String columnName, TypeMirror type, String setter, boolean assignable) {
+        this.fieldName = fieldName;
+        this.columnName = columnName;
+        this.constantName = toUpperSnakeCase(fieldName);
+        this.setter = setter;
+        this.assignable = assignable;
+        String typeName = typeName(type);
+        if (type.getKind() == TypeKind.INT || "java.lang.Integer".equals(typeName)) {
+            columnClass = "IntColumn";
+            columnFactory = "createIntColumn";
+        } else if (type.getKind() == TypeKind.LONG || "java.lang.Long".equals(typeName)) {
+            columnClass = "LongColumn";
+            columnFactory = "createLongColumn";
+        } else if (type.getKind() == TypeKind.DOUBLE || "java.lang.Double".equals(typeName)) {
+            columnClass = "DoubleColumn";
+            columnFactory = "createDoubleColumn";
+        } else if ("java.lang.String".equals(typeName)) {
+            columnClass = "TableColumn";
+            columnFactory = "createStringColumn";
+        } else if ("java.sql.Timestamp".equals(typeName) || "java.util.Date".equals(typeName)
+                || "java.time.LocalDateTime".equals(typeName)) {
+            columnClass = "TableColumn";
+            columnFactory = "createTimestampColumn";
+        } else {
+            columnClass = "TableColumn";
+            columnFactory = "createTableColumn";
+        }
+        this.getter = getter(type, typeName);
+    }
+
+    /**
+     * @return qualified name of a declared type without type arguments, null for other types.
+     */
+    private static String typeName(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    private static String getter(TypeMirror type, String typeName) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "resultSet.getBoolean(%s)";
+            case BYTE:
+                return "resultSet.getByte(%s)";
+            case SHORT:
+                return "resultSet.getShort(%s)";
+            case INT:
+                return "resultSet.getInt(%s)";
+            case LONG:
+                return "resultSet.getLong(%s)";
+            case FLOAT:
+                return "resultSet.getFloat(%s)";
+            case DOUBLE:
+                return "resultSet.getDouble(%s)";
+            case ARRAY:
+                return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ?
+                        "resultSet.getBytes(%s)" : null;
+            case DECLARED:
+                if ("java.lang.String".equals(typeName)) {
+                    return "resultSet.getString(%s)";
+                }
+                // drivers like pgjdbc don't convert to java.util.Date in getObject, Timestamp is a Date.
+                if ("java.sql.Timestamp".equals(typeName) || "java.util.Date".equals(typeName)) {
+                    return "resultSet.getTimestamp(%s)";
+                }
+                // Generic types can't be read without unchecked casts.
+                return ((DeclaredType) type).getTypeArguments().isEmpty() ?
+                        "resultSet.getObject(%s, " + typeName + ".class)" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Converts a camel case name to upper snake case, eg. <code>lastName</code> to <code>LAST_NAME</code> and
+     * <code>HTMLParser</code> to <code>HTML_PARSER</code>.
+     *
+     * @param name
+     * @return upper snake case name.
+     */
+    static String toUpperSnakeCase(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c)) {
+                char previous = name.charAt(i - 1);
+                boolean wordStart = Character.isLowerCase(previous) || Character.isDigit(previous)
+                        || Character.isUpperCase(previous) && i + 1 < name.length()
+                        && Character.isLowerCase(name.charAt(i + 1));
+                if (wordStart) {
+                    builder.append('_');
+                }
+            }
+            builder.append(Character.toUpperCase(c));
+        }
+        return builder.toString();
+    }
+
+    String getFieldName() {
+        return fieldName;
+    }
+
+    String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * @return prefix of the generated constants of the column, field name in upper snake case.
+     */
+    String getConstantName() {
+        return constantName;
+    }
+
+    String getColumnClass() {
+        return columnClass;
+    }
+
+    String getColumnFactory() {
+        return columnFactory;
+    }
+
+    /**
+     * @return true if the column can be read from a {@link java.sql.ResultSet} and set on the entity.
+     */
+    boolean isMappable() {
+        return getter != null && (setter != null || assignable);
+    }
+
+    /**
+     * @param target variable holding the entity.
+     * @param index  expression of the column index.
+     * @return statement setting the column of current row on the entity.
+     */
+    String assignment(String target, String index) {
+        String value = String.format(getter, index);
+        return setter != null ? target + "." + setter + "(" + value + ");" : target + "." + fieldName + " = " +
+                value + ";";
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.dilipkumarg.qb.annotations.Column;
+import com.dilipkumarg.qb.annotations.Table;
+import com.dilipkumarg.qb.annotations.Transient;
+
+/**
+ * Generates <code>Q&lt;EntityName&gt;</code> table classes for the {@link Table} entities, see {@link TableWriter}
+ * for the generated members. Columns are the non static, non transient fields of the entity and its super classes,
+ * in declaration order starting from the top most class.
+ * <p/>
+ * Row mapper of an entity is generated only when it has a non private no argument constructor and every column can be
+ * set through a non private setter or field, otherwise a warning is reported.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class TableProcessor extends AbstractProcessor {
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(Table.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Table is supported only on classes");
+                continue;
+            }
+            TypeElement entity = (TypeElement) element;
+            if (entity.getModifiers().contains(Modifier.PRIVATE) || entity.getNestingKind() == NestingKind.MEMBER
+                    && !entity.getModifiers().contains(Modifier.STATIC)) {
+                error(entity, "@Table class should be a non private top level or static nested class");
+                continue;
+            }
+            List<EntityColumn> columns = readColumns(entity);
+            if (columns == null) {
+                continue;
+            }
+            if (columns.isEmpty()) {
+                error(entity, "@Table class doesn't have any columns");
+                continue;
+            }
+            write(entity, columns);
+        }
+        return true;
+    }
+
+    /**
+     * @return columns of the entity, null when any of them is invalid.
+     */
+    private List<EntityColumn> readColumns(TypeElement entity) {
+        List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+        for (TypeElement type = entity; type != null; type = superclass(type)) {
+            hierarchy.add(0, type);
+        }
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils()
+                .getAllMembers(entity));
+        List<EntityColumn> columns = new ArrayList<EntityColumn>();
+        Set<String> constants = new HashSet<String>();
+        boolean valid = true;
+        for (TypeElement type : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)
+                        || field.getAnnotation(Transient.class) != null) {
+                    continue;
+                }
+                String fieldName = field.getSimpleName().toString();
+                Column column = field.getAnnotation(Column.class);
+                String columnName = column == null ? EntityColumn.toUpperSnakeCase(fieldName) : column.name();
+                if (columnName.isEmpty()) {
+                    error(field, "@Column name can't be empty");
+                    valid = false;
+                    continue;
+                }
+                EntityColumn entityColumn = new EntityColumn(fieldName, columnName, field.asType(),
+                        findSetter(methods, field), isAssignable(field, entity));
+                if (!constants.add(entityColumn.getConstantName())) {
+                    error(field, "Column constant " + entityColumn.getConstantName() + " is generated by another " +
+                            "field, rename the field or mark one of them @Transient");
+                    valid = false;
+                    continue;
+                }
+                columns.add(entityColumn);
+            }
+        }
+        return valid ? columns : null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private String findSetter(List<ExecutableElement> methods, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(setter) && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(),
+                    field.asType())) {
+                return setter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fields are assigned directly only from the package of the generated class, so protected fields of super
+     * classes in other packages are left out.
+     */
+    private boolean isAssignable(VariableElement field, TypeElement entity) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) || getPackage(field).equals(getPackage(entity));
+    }
+
+    private PackageElement getPackage(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    private boolean hasNoArgConstructor(TypeElement entity) {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write(TypeElement entity, List<EntityColumn> columns) {
+        Table table = entity.getAnnotation(Table.class);
+        String tableName = table.name().isEmpty() ?
+                EntityColumn.toUpperSnakeCase(entity.getSimpleName().toString()) : table.name();
+        String tableAlias = table.alias().isEmpty() ? tableName.toLowerCase() : table.alias();
+
+        boolean mapped = hasNoArgConstructor(entity);
+        if (!mapped) {
+            warning(entity, "Row mapper isn't generated, @Table class doesn't have a non private no argument " +
+                    "constructor");
+        }
+        for (EntityColumn column : columns) {
+            if (mapped && !column.isMappable()) {
+                warning(entity, "Row mapper isn't generated, field " + column.getFieldName() + " can't be set " +
+                        "from the generated class or its type isn't supported");
+                mapped = false;
+            }
+        }
+
+        String packageName = getPackage(entity).getQualifiedName().toString();
+        TableWriter writer = new TableWriter(packageName, "Q" + entity.getSimpleName(),
+                entity.getQualifiedName().toString(), tableName, tableAlias, columns, mapped);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.getQualifiedName(), entity);
+            Writer out = file.openWriter();
+            try {
+                writer.write(out);
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            error(entity, "Failed to write " + writer.getQualifiedName() + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+}
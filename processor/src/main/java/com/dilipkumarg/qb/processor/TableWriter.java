@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the source of a generated table class. Besides the columns, every column gets constants with its name, its
+ * name with the default alias and its one based index in <code>selectAll()</code>, so rows can be read by index
+ * without looking up the column names. <code>MAPPER</code> maps the rows of <code>selectAll()</code> to entities.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+class TableWriter {
+    private static final String INDENT = "    ";
+
+    private final String packageName;
+    private final String className;
+    private final String entityName;
+    private final String tableName;
+    private final String tableAlias;
+    private final List<EntityColumn> columns;
+    private final boolean mapped;
+
+    TableWriter(String packageName, String className, String entityName, String tableName, String tableAlias,
+                List<EntityColumn> columns, boolean mapped) {
+        this.packageName = packageName;
+        this.className = className;
+        this.entityName = entityName;
+        this.tableName = tableName;
+        this.tableAlias = tableAlias;
+        this.columns = columns;
+        this.mapped = mapped;
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    void write(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder(2048 + columns.size() * 512);
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        writeImports(out);
+        out.append("/**\n * Table of {@link ").append(entityName).append("}, generated by ")
+                .append(TableProcessor.class.getName()).append(".\n */\n");
+        out.append("public class ").append(className).append(" extends AbstractSqlTable {\n");
+        out.append(INDENT).append("public static final String TABLE_NAME = ").append(literal(tableName)).append(";\n");
+        out.append(INDENT).append("public static final String TABLE_ALIAS = ").append(literal(tableAlias))
+                .append(";\n");
+        for (int i = 0; i < columns.size(); i++) {
+            EntityColumn column = columns.get(i);
+            String constant = column.getConstantName();
+            out.append('\n');
+            out.append(INDENT).append("public static final String ").append(constant).append("_COLUMN = ")
+                    .append(literal(column.getColumnName())).append(";\n");
+            out.append(INDENT).append("public static final String ").append(constant).append("_WITH_ALIAS = ")
+                    .append(literal(tableAlias + "." + column.getColumnName())).append(";\n");
+            out.append(INDENT).append("public static final int ").append(constant).append("_INDEX = ")
+                    .append(i + 1).append(";\n");
+        }
+        if (mapped) {
+            writeMapper(out);
+        }
+        out.append('\n');
+        for (EntityColumn column : columns) {
+            out.append(INDENT).append("public final ").append(column.getColumnClass()).append(' ')
+                    .append(column.getFieldName()).append(" = ").append(column.getColumnFactory()).append('(')
+                    .append(column.getConstantName()).append("_COLUMN);\n");
+        }
+        out.append('\n');
+        out.append(INDENT).append("public ").append(className).append("() {\n");
+        out.append(INDENT).append(INDENT).append("super(TABLE_NAME, TABLE_ALIAS);\n");
+        out.append(INDENT).append("}\n\n");
+        out.append(INDENT).append("public ").append(className).append("(String tableAlias) {\n");
+        out.append(INDENT).append(INDENT).append("super(TABLE_NAME, tableAlias);\n");
+        out.append(INDENT).append("}\n\n");
+        out.append(INDENT).append("/**\n").append(INDENT)
+                .append(" * @return {@link SelectQueryBuilder} listing all the columns in the order of their index")
+                .append(" constants.\n").append(INDENT).append(" */\n");
+        out.append(INDENT).append("public SelectQueryBuilder selectAll() {\n");
+        out.append(INDENT).append(INDENT).append("return select().list(");
+        for (int i = 0; i < columns.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append(columns.get(i).getFieldName());
+        }
+        out.append(");\n");
+        out.append(INDENT).append("}\n");
+        out.append("}\n");
+        writer.write(out.toString());
+    }
+
+    private void writeImports(StringBuilder out) {
+        Set<String> imports = new TreeSet<String>();
+        imports.add("com.dilipkumarg.qb.SelectQueryBuilder");
+        imports.add("com.dilipkumarg.qb.models.AbstractSqlTable");
+        for (EntityColumn column : columns) {
+            imports.add("com.dilipkumarg.qb.models." + column.getColumnClass());
+        }
+        if (mapped) {
+            imports.add("com.dilipkumarg.qb.jdbc.RowMapper");
+            imports.add("java.sql.ResultSet");
+            imports.add("java.sql.SQLException");
+        }
+        for (String name : imports) {
+            out.append("import ").append(name).append(";\n");
+        }
+        out.append('\n');
+    }
+
+    private void writeMapper(StringBuilder out) {
+        out.append('\n');
+        out.append(INDENT).append("public static final RowMapper<").append(entityName).append("> MAPPER = ")
+                .append("new RowMapper<").append(entityName).append(">() {\n");
+        out.append(INDENT).append(INDENT).append("@Override\n");
+        out.append(INDENT).append(INDENT).append("public ").append(entityName)
+                .append(" mapRow(ResultSet resultSet, int rowNum) throws SQLException {\n");
+        String indent = INDENT + INDENT + INDENT;
+        out.append(indent).append(entityName).append(" entity = new ").append(entityName).append("();\n");
+        for (EntityColumn column : columns) {
+            out.append(indent).append(column.assignment("entity", column.getConstantName() + "_INDEX")).append('\n');
+        }
+        out.append(indent).append("return entity;\n");
+        out.append(INDENT).append(INDENT).append("}\n");
+        out.append(INDENT).append("};\n");
+    }
+
+    /**
+     * @return Java string literal of the given value.
+     */
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
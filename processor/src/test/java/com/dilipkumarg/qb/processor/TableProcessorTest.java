@@ -0,0 +1,256 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.jdbc.QueryExecutor;
+import com.dilipkumarg.qb.jdbc.RowMapper;
+import com.dilipkumarg.qb.models.IntColumn;
+import com.dilipkumarg.qb.models.LongColumn;
+import com.dilipkumarg.qb.models.TableColumn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class TableProcessorTest {
+    private static final String BASE_ENTITY = "package sample;\n" +
+            "public abstract class BaseEntity {\n" +
+            "    private long id;\n" +
+            "    public long getId() { return id; }\n" +
+            "    public void setId(long id) { this.id = id; }\n" +
+            "}\n";
+    private static final String ORDER_ITEM = "package sample;\n" +
+            "import com.dilipkumarg.qb.annotations.*;\n" +
+            "@Table\n" +
+            "public class OrderItem extends BaseEntity {\n" +
+            "    @Column(name = \"ITEM_NAME\") private String name;\n" +
+            "    public int quantity;\n" +
+            "    Double unitPrice;\n" +
+            "    @Transient String note;\n" +
+            "    transient int hash;\n" +
+            "    static int counter;\n" +
+            "    public String getName() { return name; }\n" +
+            "    public void setName(String name) { this.name = name; }\n" +
+            "}\n";
+
+    private File directory;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("qb-processor").toFile();
+        diagnostics = new DiagnosticCollector<JavaFileObject>();
+    }
+
+    @After
+    public void tearDown() {
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Compiles the given sources of <code>sample</code> package with the processor.
+     *
+     * @return class loader of the compiled classes, null when the compilation failed.
+     */
+    private ClassLoader compile(String... sources) throws IOException {
+        File sourceDir = new File(directory, "src/sample");
+        File classDir = new File(directory, "classes");
+        sourceDir.mkdirs();
+        classDir.mkdirs();
+        List<File> files = new ArrayList<File>();
+        for (String source : sources) {
+            String name = source.replaceAll("(?s).*public (abstract )?(class|interface) (\\w+).*", "$3");
+            File file = new File(sourceDir, name + ".java");
+            Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+                StandardCharsets.UTF_8);
+        try {
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"),
+                    "-processor", TableProcessor.class.getName(), "-d", classDir.getPath(),
+                    "-s", classDir.getPath());
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call();
+            return success ? new URLClassLoader(new URL[]{classDir.toURI().toURL()}, getClass().getClassLoader()) :
+                    null;
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private String messages(Diagnostic.Kind kind) {
+        StringBuilder builder = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == kind) {
+                builder.append(diagnostic.getMessage(Locale.ROOT)).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testGeneratedTable() throws Exception {
+        ClassLoader loader = compile(BASE_ENTITY, ORDER_ITEM);
+        assertTrue(messages(Diagnostic.Kind.ERROR), loader != null);
+        assertEquals("", messages(Diagnostic.Kind.WARNING));
+
+        Class<?> tableClass = loader.loadClass("sample.QOrderItem");
+        assertEquals("ORDER_ITEM", tableClass.getField("TABLE_NAME").get(null));
+        assertEquals("order_item", tableClass.getField("TABLE_ALIAS").get(null));
+        assertEquals("ITEM_NAME", tableClass.getField("NAME_COLUMN").get(null));
+        assertEquals("order_item.UNIT_PRICE", tableClass.getField("UNIT_PRICE_WITH_ALIAS").get(null));
+        assertEquals(1, tableClass.getField("ID_INDEX").get(null));
+        assertEquals(4, tableClass.getField("UNIT_PRICE_INDEX").get(null));
+
+        Object table = tableClass.getConstructor(String.class).newInstance("o");
+        assertEquals(LongColumn.class, tableClass.getField("id").getType());
+        assertEquals(IntColumn.class, tableClass.getField("quantity").getType());
+        assertEquals("o.ITEM_NAME", ((TableColumn) tableClass.getField("name").get(table)).getFieldNameWithAlias());
+        SelectQueryBuilder select = (SelectQueryBuilder) tableClass.getMethod("selectAll").invoke(table);
+        assertEquals("SELECT o.ID,o.ITEM_NAME,o.QUANTITY,o.UNIT_PRICE FROM ORDER_ITEM o",
+                select.build().getQuery());
+    }
+
+    @Test
+    public void testGeneratedMapper() throws Exception {
+        ClassLoader loader = compile(BASE_ENTITY, ORDER_ITEM);
+        assertTrue(messages(Diagnostic.Kind.ERROR), loader != null);
+        Class<?> tableClass = loader.loadClass("sample.QOrderItem");
+        Class<?> entityClass = loader.loadClass("sample.OrderItem");
+
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("CREATE TABLE ORDER_ITEM (ID BIGINT, ITEM_NAME VARCHAR(64), QUANTITY INT, " +
+                    "UNIT_PRICE DOUBLE)");
+            statement.execute("INSERT INTO ORDER_ITEM VALUES (7, 'pen', 3, NULL)");
+            statement.close();
+            QueryExecutor executor = new QueryExecutor(connection);
+            List<?> items = executor.query((SelectQueryBuilder) tableClass.getMethod("selectAll").invoke(
+                    tableClass.newInstance()), (RowMapper<?>) tableClass.getField("MAPPER").get(null));
+            executor.close();
+
+            assertEquals(1, items.size());
+            Object item = items.get(0);
+            assertEquals(7L, entityClass.getMethod("getId").invoke(item));
+            assertEquals("pen", entityClass.getMethod("getName").invoke(item));
+            assertEquals(3, entityClass.getField("quantity").get(item));
+            java.lang.reflect.Field unitPrice = entityClass.getDeclaredField("unitPrice");
+            unitPrice.setAccessible(true);
+            assertEquals(null, unitPrice.get(item));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testTimestampGetters() throws Exception {
+        ClassLoader loader = compile("package sample;\n" +
+                "@com.dilipkumarg.qb.annotations.Table\n" +
+                "public class Event {\n" +
+                "    public java.util.Date created;\n" +
+                "    public java.sql.Timestamp updated;\n" +
+                "    public java.time.LocalDateTime scheduled;\n" +
+                "}\n");
+        assertTrue(messages(Diagnostic.Kind.ERROR), loader != null);
+        String source = new String(Files.readAllBytes(new File(directory, "classes/sample/QEvent.java").toPath()),
+                StandardCharsets.UTF_8);
+        assertTrue(source, source.contains("entity.created = resultSet.getTimestamp(CREATED_INDEX);"));
+        assertTrue(source, source.contains("entity.updated = resultSet.getTimestamp(UPDATED_INDEX);"));
+        assertTrue(source, source.contains("resultSet.getObject(SCHEDULED_INDEX, java.time.LocalDateTime.class)"));
+    }
+
+    @Test
+    public void testMapperIsSkippedForInaccessibleFields() throws Exception {
+        ClassLoader loader = compile("package sample;\n" +
+                "@com.dilipkumarg.qb.annotations.Table(name = \"ACCOUNTS\", alias = \"a\")\n" +
+                "public class Account {\n" +
+                "    private String owner;\n" +
+                "    public Account(String owner) { this.owner = owner; }\n" +
+                "}\n");
+        assertTrue(messages(Diagnostic.Kind.ERROR), loader != null);
+        assertTrue(messages(Diagnostic.Kind.WARNING).contains("Row mapper isn't generated"));
+        Class<?> tableClass = loader.loadClass("sample.QAccount");
+        assertEquals("a.OWNER", tableClass.getField("OWNER_WITH_ALIAS").get(null));
+        try {
+            tableClass.getField("MAPPER");
+            fail("Mapper shouldn't be generated without a no argument constructor");
+        } catch (NoSuchFieldException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testInvalidEntities() throws IOException {
+        assertEquals(null, compile("package sample;\n" +
+                "@com.dilipkumarg.qb.annotations.Table\n" +
+                "public class Clash {\n" +
+                "    String userId;\n" +
+                "    String userID;\n" +
+                "}\n"));
+        assertTrue(messages(Diagnostic.Kind.ERROR).contains("USER_ID is generated by another field"));
+    }
+
+    @Test
+    public void testUpperSnakeCase() {
+        assertEquals("LAST_NAME", EntityColumn.toUpperSnakeCase("lastName"));
+        assertEquals("HTML_PARSER", EntityColumn.toUpperSnakeCase("HTMLParser"));
+        assertEquals("USER_ID", EntityColumn.toUpperSnakeCase("userID"));
+        assertEquals("ADDRESS2_LINE", EntityColumn.toUpperSnakeCase("address2Line"));
+        assertEquals("ID", EntityColumn.toUpperSnakeCase("id"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dilipkumarg.qb.DeleteQueryBuilder;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+/**
+ * Measures {@link DeleteQueryBuilder#build()} for different number of conditions.
+ *
+ * @author Dilip Kumar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeleteQueryBuilderBenchmark {
+
+    @Param({"0", "1", "8"})
+    public int whereCount;
+
+    private DeleteQueryBuilder builder;
+
+    @Setup
+    public void setUp() {
+        QBenchmarkTable person = new QBenchmarkTable("person", whereCount);
+        builder = new DeleteQueryBuilder(person);
+        for (int i = 0; i < whereCount; i++) {
+            builder.where(person.getColumns().get(i).eq(i));
+        }
+    }
+
+    @Benchmark
+    public SqlQuery build() {
+        return builder.build();
+    }
+}
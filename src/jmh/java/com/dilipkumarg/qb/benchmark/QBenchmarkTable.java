@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.List;
+
+import com.dilipkumarg.qb.models.AbstractSqlTable;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.google.common.collect.Lists;
+
+/**
+ * QPerson style table used by the benchmarks. Apart from the named columns it creates the requested number of
+ * generic columns, so benchmarks can vary the width of the table.
+ *
+ * @author Dilip Kumar.
+ */
+public class QBenchmarkTable extends AbstractSqlTable {
+    private static final String TABLE_NAME = "BENCHMARK_PERSON";
+
+    public final TableColumn id = createTableColumn("ID");
+    public final TableColumn name = createTableColumn("NAME");
+    public final TableColumn lastName = createTableColumn("LAST_NAME");
+    public final TableColumn age = createTableColumn("AGE");
+
+    private final List<TableColumn> columns;
+
+    public QBenchmarkTable(String tableAlias, int columnCount) {
+        super(TABLE_NAME, tableAlias);
+        columns = Lists.newArrayListWithCapacity(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(createTableColumn("COLUMN_" + i));
+        }
+    }
+
+    /**
+     * @return generic columns created for this table.
+     */
+    public List<TableColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param count
+     * @return first count generic columns as an array.
+     */
+    public TableColumn[] getColumns(int count) {
+        return columns.subList(0, count).toArray(new TableColumn[count]);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.core.RenderCache;
+import com.dilipkumarg.qb.core.RenderCaches;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+/**
+ * Measures {@link SelectQueryBuilder#build()} with a shared {@link RenderCache}, for comparison with
+ * {@link SelectQueryBuilderBenchmark#build()}.
+ *
+ * @author Dilip Kumar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RenderCacheBenchmark {
+
+    @Param({"1", "16"})
+    public int columnCount;
+
+    @Param({"1", "8"})
+    public int whereCount;
+
+    @Param({"0", "3"})
+    public int joinCount;
+
+    private SelectQueryBuilder builder;
+
+    @Setup
+    public void setUp() {
+        RenderCaches.setCache(new RenderCache());
+        int width = Math.max(columnCount, whereCount);
+        QBenchmarkTable person = new QBenchmarkTable("person", width);
+        builder = new SelectQueryBuilder(person);
+        builder.list(person.getColumns(columnCount));
+        for (int i = 0; i < whereCount; i++) {
+            builder.where(person.getColumns().get(i).eq("VALUE_" + i));
+        }
+        for (int i = 0; i < joinCount; i++) {
+            QBenchmarkTable joined = new QBenchmarkTable("j" + i, 0);
+            builder.leftJoin(joined, person.id.eq(joined.id), joined.age.gt(i));
+        }
+        builder.orderBy(person.name.asc());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RenderCaches.setCache(null);
+    }
+
+    @Benchmark
+    public SqlQuery build() {
+        return builder.build();
+    }
+}
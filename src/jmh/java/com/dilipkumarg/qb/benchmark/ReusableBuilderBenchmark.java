@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.models.AbstractSqlTable;
+import com.dilipkumarg.qb.models.LongColumn;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+/**
+ * Measures a lookup by id with a new {@link SelectQueryBuilder} and with {@link AbstractSqlTable#reusableSelect()}.
+ *
+ * @author Dilip Kumar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReusableBuilderBenchmark {
+    private QBenchmarkTable person;
+    private LongColumn id;
+
+    @Setup
+    public void setUp() {
+        person = new QBenchmarkTable("person", 4);
+        id = person.createLongColumn("ID");
+    }
+
+    @Benchmark
+    public SqlQuery fresh() {
+        return person.select().list(person.name).where(id.eq(42)).build();
+    }
+
+    @Benchmark
+    public SqlQuery reusable() {
+        return person.reusableSelect().list(person.name).where(id.eq(42)).build();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.CompiledQuery;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+/**
+ * Measures {@link SelectQueryBuilder#build()} for different query shapes.
+ *
+ * @author Dilip Kumar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SelectQueryBuilderBenchmark {
+
+    @Param({"1", "16"})
+    public int columnCount;
+
+    @Param({"1", "8"})
+    public int whereCount;
+
+    @Param({"0", "3"})
+    public int joinCount;
+
+    @Param({"0", "2"})
+    public int orderByCount;
+
+    private SelectQueryBuilder builder;
+    private CompiledQuery compiled;
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        int width = Math.max(columnCount, whereCount);
+        QBenchmarkTable person = new QBenchmarkTable("person", width);
+        builder = new SelectQueryBuilder(person);
+        builder.list(person.getColumns(columnCount));
+        for (int i = 0; i < whereCount; i++) {
+            builder.where(person.getColumns().get(i).eq("VALUE_" + i));
+        }
+        for (int i = 0; i < joinCount; i++) {
+            QBenchmarkTable joined = new QBenchmarkTable("j" + i, 0);
+            builder.leftJoin(joined, person.id.eq(joined.id), joined.age.gt(i));
+        }
+        if (orderByCount > 0) {
+            builder.orderBy(person.name.asc());
+        }
+        if (orderByCount > 1) {
+            builder.orderBy(person.age.desc());
+        }
+        compiled = builder.compile();
+        args = builder.build().getArgs();
+    }
+
+    @Benchmark
+    public SqlQuery build() {
+        return builder.build();
+    }
+
+    @Benchmark
+    public SqlQuery buildThreadLocal() {
+        return builder.build(QueryRenderer.threadLocal());
+    }
+
+    @Benchmark
+    public SqlQuery bindCompiled() {
+        return compiled.bind(args);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dilipkumarg.qb.models.LongColumn;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.TableColumn;
+
+/**
+ * Measures a lookup by id with a plain {@link TableColumn}, which boxes the id, and with a {@link LongColumn}.
+ *
+ * @author Dilip Kumar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TypedArgumentsBenchmark {
+    private QBenchmarkTable person;
+    private TableColumn boxedId;
+    private LongColumn typedId;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        person = new QBenchmarkTable("person", 4);
+        boxedId = person.createTableColumn("ID");
+        typedId = person.createLongColumn("ID");
+        id = 1234567890L;
+    }
+
+    @Benchmark
+    public SqlQuery boxed() {
+        return person.select().list(person.name).where(boxedId.eq(id)).build();
+    }
+
+    @Benchmark
+    public SqlQuery typed() {
+        return person.select().list(person.name).where(typedId.eq(id)).build();
+    }
+}
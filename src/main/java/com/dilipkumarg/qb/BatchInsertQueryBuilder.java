@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb;
+
+import java.util.List;
+
+import com.dilipkumarg.qb.core.MultiRowInsertableQueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.BatchSqlQuery;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.SqlTable;
+import com.google.common.collect.Lists;
+
+/**
+ * Inserts many rows with the same set of columns. Rows can be rendered as multi row
+ * <code>INSERT INTO t (a,b) VALUES (?,?),(?,?)</code> statements, chunked by {@link #maxParameters(int)}, or as a
+ * single row statement with one argument array per row for JDBC batch execution.
+ * <p/>
+ * Rows are added as described in {@link MultiRowInsertableQueryBuilder}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class BatchInsertQueryBuilder extends MultiRowInsertableQueryBuilder<BatchInsertQueryBuilder> {
+    public static final int UNLIMITED_PARAMETERS = Integer.MAX_VALUE;
+
+    private static final String INSERT_INTO = "INSERT INTO ";
+    private static final String VALUES = ") VALUES ";
+
+    private int maxParameters = UNLIMITED_PARAMETERS;
+
+    public BatchInsertQueryBuilder(SqlTable table) {
+        super(table);
+    }
+
+    /**
+     * Limits the number of place holders in a single statement, eg. 2100 for SQL Server or 65535 for PostgreSQL.
+     * Used by {@link #buildChunks()}.
+     *
+     * @param maxParameters
+     * @return current {@link BatchInsertQueryBuilder} instance.
+     */
+    public BatchInsertQueryBuilder maxParameters(int maxParameters) {
+        if (maxParameters <= 0) {
+            throw new QueryBuilderRuntimeException("Max parameters should be positive:" + maxParameters);
+        }
+        this.maxParameters = maxParameters;
+        return this;
+    }
+
+    /**
+     * Builds multi row statements, each one having at most {@link #maxParameters(int)} place holders. All the
+     * statements except the last one has the same query string.
+     *
+     * @return {@link List} of {@link SqlQuery}.
+     */
+    public List<SqlQuery> buildChunks() {
+        validateRows();
+        int rowsPerChunk = getRowsPerChunk();
+        int rowsCount = getRows().size();
+        List<SqlQuery> chunks = Lists.newArrayListWithCapacity((rowsCount + rowsPerChunk - 1) / rowsPerChunk);
+        String chunkQuery = null;
+        for (int from = 0; from < rowsCount; from += rowsPerChunk) {
+            int to = Math.min(rowsCount, from + rowsPerChunk);
+            // all the full chunks share the query string, so render it only once.
+            if (chunkQuery != null && to - from == rowsPerChunk) {
+                chunks.add(new SqlQuery(chunkQuery, collectArguments(from, to)));
+            } else {
+                QueryRenderer renderer = new QueryRenderer(estimateLength(to - from)).setDialect(getDialect());
+                renderStatement(renderer, from, to);
+                SqlQuery chunk = renderer.toSqlQuery();
+                if (to - from == rowsPerChunk) {
+                    chunkQuery = chunk.getQuery();
+                }
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Builds single row statement with arguments of every row, to be executed as JDBC batch.
+     *
+     * @return {@link BatchSqlQuery}.
+     */
+    public BatchSqlQuery buildBatch() {
+        validateRows();
+        QueryRenderer renderer = new QueryRenderer(estimateLength(1)).setDialect(getDialect());
+        renderPrefix(renderer);
+        renderRow(renderer);
+        return new BatchSqlQuery(renderer.toString(), Lists.newArrayList(getRows()));
+    }
+
+    /**
+     * Renders one multi row statement for all the rows.
+     *
+     * @param renderer
+     * @throws QueryBuilderRuntimeException when no rows added or rows are exceeding {@link #maxParameters(int)}.
+     */
+    @Override
+    public void render(QueryRenderer renderer) {
+        validateRows();
+        if ((long) getRows().size() * getColumns().size() > maxParameters) {
+            throw new QueryBuilderRuntimeException("Rows are exceeding " + maxParameters + " parameters, use " +
+                    "buildChunks() to split them into multiple statements");
+        }
+        renderInsertableQuery(renderer);
+    }
+
+    @Override
+    protected void resetClauses() {
+        super.resetClauses();
+        maxParameters = UNLIMITED_PARAMETERS;
+    }
+
+    @Override
+    protected void renderInsertableQuery(QueryRenderer renderer) {
+        renderStatement(renderer, 0, getRows().size());
+    }
+
+    private int getRowsPerChunk() {
+        int rowsPerChunk = maxParameters / getColumns().size();
+        if (rowsPerChunk == 0) {
+            throw new QueryBuilderRuntimeException("A row with " + getColumns().size() + " columns exceeds " +
+                    maxParameters + " parameters");
+        }
+        return rowsPerChunk;
+    }
+
+    private int estimateLength(int rowsCount) {
+        return 64 + getColumns().size() * 16 + rowsCount * (getColumns().size() * 2 + 2);
+    }
+
+    private Object[] collectArguments(int from, int to) {
+        int columnsCount = getColumns().size();
+        Object[] args = new Object[(to - from) * columnsCount];
+        for (int i = from; i < to; i++) {
+            System.arraycopy(getRows().get(i), 0, args, (i - from) * columnsCount, columnsCount);
+        }
+        return args;
+    }
+
+    private void renderPrefix(QueryRenderer renderer) {
+        renderer.append(INSERT_INTO).appendTable(getTable(), false).append(" (");
+        renderColumnNames(renderer, getColumns());
+        renderer.append(VALUES);
+    }
+
+    private void renderStatement(QueryRenderer renderer, int from, int to) {
+        renderPrefix(renderer);
+        renderRows(renderer, from, to);
+    }
+}
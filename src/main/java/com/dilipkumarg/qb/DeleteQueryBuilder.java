@@ -17,26 +17,56 @@ package com.dilipkumarg.qb;
 
 import com.dilipkumarg.qb.core.AbstractQueryBuilder;
 import com.dilipkumarg.qb.core.NonAliasBasedWhereClause;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
 import com.dilipkumarg.qb.core.WhereClauseBuilder;
+import com.dilipkumarg.qb.dialect.Dialect;
+import com.dilipkumarg.qb.models.Condition;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
 import com.dilipkumarg.qb.models.TableColumn;
-import com.dilipkumarg.qb.models.WhereCondition;
 
 /**
  * @author Dilip Kumar.
  * @since 1/7/14
  */
 public class DeleteQueryBuilder extends AbstractQueryBuilder implements WhereClauseBuilder {
-    private static final String DELETE_TEMPLATE = "DELETE FROM %s %s";
+    private static final String DELETE_FROM = "DELETE FROM ";
 
-    private final WhereClauseBuilder whereDelegator;
+    private final NonAliasBasedWhereClause whereDelegator;
 
     public DeleteQueryBuilder(SqlTable table) {
         super(table);
         whereDelegator = new NonAliasBasedWhereClause();
     }
 
+    /**
+     * Sets the {@link Dialect} of the target database.
+     *
+     * @param dialect
+     * @return current {@link DeleteQueryBuilder} instance.
+     */
+    public DeleteQueryBuilder dialect(Dialect dialect) {
+        setDialect(dialect);
+        return this;
+    }
+
+    /**
+     * Simplifies the where conditions with {@link com.dilipkumarg.qb.core.PredicateSimplifier}.
+     *
+     * @return current {@link DeleteQueryBuilder} instance.
+     * @see #isProvablyEmpty()
+     */
+    public DeleteQueryBuilder simplify() {
+        whereDelegator.simplify();
+        return this;
+    }
+
+    @Override
+    public boolean isProvablyEmpty() {
+        return whereDelegator.isUnsatisfiable();
+    }
+
     @Override
     public DeleteQueryBuilder where(TableColumn column, Object value) {
         whereDelegator.where(column, value);
@@ -44,7 +74,7 @@ public class DeleteQueryBuilder extends AbstractQueryBuilder implements WhereCla
     }
 
     @Override
-    public DeleteQueryBuilder where(WhereCondition... conditions) {
+    public DeleteQueryBuilder where(Condition... conditions) {
         whereDelegator.where(conditions);
         return this;
     }
@@ -55,9 +85,33 @@ public class DeleteQueryBuilder extends AbstractQueryBuilder implements WhereCla
     }
 
     @Override
-    public SqlQuery build() {
-        SqlQuery whereQuery = buildWhere();
-        return new SqlQuery(String.format(DELETE_TEMPLATE, getTable().getTableName(), whereQuery.getQuery()),
-                whereQuery.getArgs());
+    public void renderWhere(QueryRenderer renderer) {
+        whereDelegator.renderWhere(renderer);
+    }
+
+    @Override
+    public void addWhereShape(ShapeBuilder shape) {
+        whereDelegator.addWhereShape(shape);
+    }
+
+    @Override
+    public void clearWhere() {
+        whereDelegator.clearWhere();
+    }
+
+    @Override
+    public void render(QueryRenderer renderer) {
+        renderer.append(DELETE_FROM).appendTable(getTable(), false);
+        whereDelegator.renderWhere(renderer);
+    }
+
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        whereDelegator.addWhereShape(shape);
+    }
+
+    @Override
+    protected void resetClauses() {
+        whereDelegator.clearWhere();
     }
 }
@@ -14,47 +14,30 @@
  */
 package com.dilipkumarg.qb;
 
-import java.util.List;
-import java.util.Set;
-
-import org.apache.commons.lang.StringUtils;
-
 import com.dilipkumarg.qb.core.InsertableQueryBuilder;
-import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.core.QueryRenderer;
 import com.dilipkumarg.qb.models.SqlTable;
-import com.dilipkumarg.qb.models.TableColumn;
-import com.google.common.collect.Lists;
 
 /**
  * @author Dilip Kumar.
  * @since 1/7/14
  */
 public class InsertQueryBuilder extends InsertableQueryBuilder<InsertQueryBuilder> {
-    private static final String INSERT_TEMPLATE = "INSERT INTO %s (%s) VALUES (%s)";
+    private static final String INSERT_INTO = "INSERT INTO ";
+    private static final String VALUES = ") VALUES (";
 
     public InsertQueryBuilder(SqlTable table) {
         super(table);
     }
 
 
-    private String buildArgsKeyList(Set<TableColumn> columns) {
-        List<String> keys = Lists.newArrayList();
-        for (TableColumn column : columns) {
-            keys.add(column.getFieldName());
-        }
-        return StringUtils.join(keys, SEPARATOR);
-    }
-
-    private String buildPlaceHolders(int size) {
-        return StringUtils.repeat(PLACE_HOLDER, SEPARATOR, size);
-    }
-
-
     @Override
-    protected SqlQuery buildInsertableQuery() {
-        String insertQuery = String.format(INSERT_TEMPLATE, getTable().getTableName(),
-                buildArgsKeyList(getArguments().keySet()),
-                buildPlaceHolders(getArguments().keySet().size()));
-        return new SqlQuery(insertQuery, getArguments().values());
+    protected void renderInsertableQuery(QueryRenderer renderer) {
+        renderer.append(INSERT_INTO).appendTable(getTable(), false).append(" (");
+        renderColumnNames(renderer, getArguments().keySet());
+        renderer.append(VALUES)
+                .appendPlaceHolders(getArguments().size())
+                .append(')')
+                .addArguments(getArguments().values());
     }
 }
@@ -15,52 +15,86 @@
 package com.dilipkumarg.qb;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang.ArrayUtils;
-import org.apache.commons.lang.StringUtils;
-
 import com.dilipkumarg.qb.core.AbstractQueryBuilder;
+import com.dilipkumarg.qb.core.AbstractWhereClause;
 import com.dilipkumarg.qb.core.AliasBasedWhereClause;
+import com.dilipkumarg.qb.core.HavingClause;
 import com.dilipkumarg.qb.core.JoinClauseBuilder;
 import com.dilipkumarg.qb.core.JoinType;
+import com.dilipkumarg.qb.core.KeysetCondition;
 import com.dilipkumarg.qb.core.NonAliasBasedWhereClause;
 import com.dilipkumarg.qb.core.OrderByEntry;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
 import com.dilipkumarg.qb.core.WhereClauseBuilder;
+import com.dilipkumarg.qb.dialect.Dialect;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.Aggregate;
+import com.dilipkumarg.qb.models.Condition;
+import com.dilipkumarg.qb.models.DerivedTable;
+import com.dilipkumarg.qb.models.SqlExpression;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
 import com.dilipkumarg.qb.models.TableColumn;
-import com.dilipkumarg.qb.models.WhereCondition;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 /**
+ * Builds select statements. Columns and {@link com.dilipkumarg.qb.models.Aggregate} expressions can be selected,
+ * aggregates are grouped by the {@link #groupBy(TableColumn...)} columns and filtered with
+ * {@link #having(Condition...)} conditions.
+ *
  * @author Dilip Kumar.
  * @since 2/7/14
  */
 public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereClauseBuilder {
-    private static final String SELECT_TEMPLATE = "%s %s FROM %s";
-    private static final String ORDER_BY_TEMPLATE = "ORDER BY %s";
+    private static final String ORDER_BY = " ORDER BY ";
+    private static final String GROUP_BY = " GROUP BY ";
+    private static final String FROM = " FROM ";
     private static final String SELECT_ALL = "*";
-    private static final String SELECT = "SELECT";
-    private static final String SELECT_DISTINCT = "SELECT DISTINCT";
+    private static final String SELECT = "SELECT ";
+    private static final String SELECT_DISTINCT = "SELECT DISTINCT ";
+    private static final String WHERE = " WHERE ";
+    private static final String AND = " AND ";
 
     private final boolean WITH_ALIAS = true;
-    private final List<TableColumn> selectedColumns;
+    private final List<SqlExpression> selectedColumns;
+    private final List<TableColumn> groupByColumns;
     private final Set<OrderByEntry> orderByEntries;
-    private final WhereClauseBuilder whereDelegator;
+    private final AbstractWhereClause whereDelegator;
     private final JoinClauseBuilder joinDelegator;
+    private final HavingClause havingDelegator;
     private boolean distinct = false;
+    private Integer limit;
+    private Integer offset;
+    private Object[] seekValues;
+    private boolean rowValueSeek = false;
 
     public SelectQueryBuilder(SqlTable table) {
         super(table);
         whereDelegator = WITH_ALIAS ? new AliasBasedWhereClause() : new NonAliasBasedWhereClause();
         selectedColumns = Lists.newArrayList();
+        groupByColumns = Lists.newArrayList();
+        havingDelegator = new HavingClause();
         orderByEntries = Sets.newLinkedHashSet();
         joinDelegator = new JoinClauseBuilder();
     }
 
+    /**
+     * Sets the {@link Dialect} of the target database.
+     *
+     * @param dialect
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder dialect(Dialect dialect) {
+        setDialect(dialect);
+        return this;
+    }
+
     @Override
     public SelectQueryBuilder where(TableColumn column, Object value) {
         whereDelegator.where(column, value);
@@ -68,7 +102,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
     }
 
     @Override
-    public SelectQueryBuilder where(WhereCondition... conditions) {
+    public SelectQueryBuilder where(Condition... conditions) {
         whereDelegator.where(conditions);
         return this;
     }
@@ -78,6 +112,21 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
         return whereDelegator.buildWhere();
     }
 
+    @Override
+    public void renderWhere(QueryRenderer renderer) {
+        whereDelegator.renderWhere(renderer);
+    }
+
+    @Override
+    public void addWhereShape(ShapeBuilder shape) {
+        whereDelegator.addWhereShape(shape);
+    }
+
+    @Override
+    public void clearWhere() {
+        whereDelegator.clearWhere();
+    }
+
     /**
      * Selects only given columns from the table.
      *
@@ -89,6 +138,46 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
         return this;
     }
 
+    /**
+     * Selects the given expressions, eg. grouped columns and their aggregates.
+     *
+     * @param expressions
+     * @return {@link SelectQueryBuilder}.
+     */
+    public SelectQueryBuilder list(SqlExpression... expressions) {
+        selectedColumns.addAll(Arrays.asList(expressions));
+        return this;
+    }
+
+    /**
+     * @return selected expressions in the order of their result set columns, empty when all the columns are selected.
+     */
+    public List<SqlExpression> getSelectedColumns() {
+        return Collections.unmodifiableList(selectedColumns);
+    }
+
+    /**
+     * Groups the rows by the given columns.
+     *
+     * @param columns
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder groupBy(TableColumn... columns) {
+        groupByColumns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Adds the conditions of having clause, they are joined with AND and rendered after the group by clause.
+     *
+     * @param conditions
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder having(Condition... conditions) {
+        havingDelegator.where(conditions);
+        return this;
+    }
+
     /**
      * @return true if {@link #distinct} added.
      */
@@ -118,6 +207,114 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
         return this;
     }
 
+    /**
+     * Limits the number of rows returned by the query, rendered as per the {@link Dialect}. Limit is passed as an
+     * argument.
+     *
+     * @param limit
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder limit(int limit) {
+        if (limit < 0) {
+            throw new QueryBuilderRuntimeException("Limit can't be negative:" + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Skips the given number of rows, prefer {@link #seekAfter(Object...)} for deep pages. Offset is passed as an
+     * argument.
+     *
+     * @param offset
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder offset(int offset) {
+        if (offset < 0) {
+            throw new QueryBuilderRuntimeException("Offset can't be negative:" + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Keyset pagination, selects the rows coming after the given row in the order of {@link #orderBy(OrderByEntry...)}
+     * entries. Values should be given for every order by entry in the same order, usually taken from the last row
+     * of previous page, so the order by entries should be added first. Combine it with {@link #limit(int)} to get
+     * the next page. Values are copied, later changes to the given array won't change the query.
+     *
+     * @param lastSeenValues
+     * @return current {@link SelectQueryBuilder} instance.
+     * @throws QueryBuilderRuntimeException if the number of values doesn't match the order by entries.
+     * @see KeysetCondition
+     */
+    public SelectQueryBuilder seekAfter(Object... lastSeenValues) {
+        if (lastSeenValues.length != orderByEntries.size()) {
+            throw new QueryBuilderRuntimeException("Keyset pagination requires " + orderByEntries.size() +
+                    " values, one for each order by entry, but found " + lastSeenValues.length);
+        }
+        this.seekValues = lastSeenValues.clone();
+        return this;
+    }
+
+    /**
+     * Renders the {@link #seekAfter(Object...)} predicate as row value comparison <code>(a, b) &gt; (?, ?)</code>
+     * when all order by entries have same direction.
+     *
+     * @return current {@link SelectQueryBuilder} instance.
+     */
+    public SelectQueryBuilder rowValueSeek() {
+        this.rowValueSeek = true;
+        return this;
+    }
+
+    /**
+     * Simplifies the where and having conditions with {@link com.dilipkumarg.qb.core.PredicateSimplifier}, removing
+     * redundant conditions and finding the conditions which can never be true.
+     *
+     * @return current {@link SelectQueryBuilder} instance.
+     * @see #isProvablyEmpty()
+     */
+    public SelectQueryBuilder simplify() {
+        whereDelegator.simplify();
+        havingDelegator.simplify();
+        return this;
+    }
+
+    /**
+     * Aggregates without group by return a row even when no rows match the where clause, so only the queries
+     * without such aggregates are empty for unsatisfiable where clause.
+     */
+    @Override
+    public boolean isProvablyEmpty() {
+        if (havingDelegator.isUnsatisfiable()) {
+            return true;
+        }
+        if (!whereDelegator.isUnsatisfiable()) {
+            return false;
+        }
+        if (!groupByColumns.isEmpty()) {
+            return true;
+        }
+        for (SqlExpression expression : selectedColumns) {
+            if (expression instanceof Aggregate) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wraps this query into a {@link DerivedTable}, to select from or join with it. Columns of the derived table are
+     * created with {@link DerivedTable#createTableColumn(String)}.
+     *
+     * @param alias
+     * @return {@link DerivedTable} of this query.
+     */
+    public DerivedTable as(String alias) {
+        return new DerivedTable(this, alias);
+    }
+
     /**
      * Generates the list of selected fields.
      *
@@ -125,32 +322,60 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * fields.
      */
     public String buildSelectedFieldsString() {
+        QueryRenderer renderer = new QueryRenderer();
+        renderSelectedFields(renderer);
+        return renderer.toString();
+    }
+
+    private void renderSelectedFields(QueryRenderer renderer) {
         if (!selectedColumns.isEmpty()) {
-            List<String> cols = Lists.newArrayList();
-            for (TableColumn column : selectedColumns) {
-                cols.add(column.getFieldName(WITH_ALIAS));
+            for (int i = 0; i < selectedColumns.size(); i++) {
+                if (i > 0) {
+                    renderer.append(SEPARATOR);
+                }
+                selectedColumns.get(i).render(renderer, WITH_ALIAS);
             }
-            return StringUtils.join(cols, SEPARATOR);
         } else {
-            return SELECT_ALL;
+            renderer.append(SELECT_ALL);
         }
     }
 
 
+    private void renderGroupBy(QueryRenderer renderer) {
+        if (!groupByColumns.isEmpty()) {
+            renderer.append(GROUP_BY);
+            for (int i = 0; i < groupByColumns.size(); i++) {
+                if (i > 0) {
+                    renderer.append(SEPARATOR);
+                }
+                renderer.appendColumn(groupByColumns.get(i), WITH_ALIAS);
+            }
+        }
+        havingDelegator.renderWhere(renderer);
+    }
+
     /**
      * Generates String with selected orderBy elements.
      *
      * @return {@link String}Generated String.
      */
     public String buildOrderByString() {
+        QueryRenderer renderer = new QueryRenderer();
+        renderOrderBy(renderer);
+        return renderer.toString().trim();
+    }
+
+    private void renderOrderBy(QueryRenderer renderer) {
         if (!orderByEntries.isEmpty()) {
-            List<String> cols = Lists.newArrayList();
+            renderer.append(ORDER_BY);
+            boolean first = true;
             for (OrderByEntry entry : orderByEntries) {
-                cols.add(entry.buildOrderByEntry(WITH_ALIAS));
+                if (!first) {
+                    renderer.append(SEPARATOR);
+                }
+                entry.render(renderer, WITH_ALIAS);
+                first = false;
             }
-            return String.format(ORDER_BY_TEMPLATE, StringUtils.join(cols, SEPARATOR));
-        } else {
-            return "";
         }
     }
 
@@ -164,7 +389,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * @param conditions
      * @return {@link com.dilipkumarg.qb.SelectQueryBuilder} instance.
      */
-    public SelectQueryBuilder join(SqlTable table, JoinType type, WhereCondition... conditions) {
+    public SelectQueryBuilder join(SqlTable table, JoinType type, Condition... conditions) {
         joinDelegator.join(table, type, conditions);
         return this;
     }
@@ -178,7 +403,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * @param conditions
      * @return {@link com.dilipkumarg.qb.SelectQueryBuilder} instance.
      */
-    public SelectQueryBuilder innerJoin(SqlTable table, WhereCondition... conditions) {
+    public SelectQueryBuilder innerJoin(SqlTable table, Condition... conditions) {
         return this.join(table, JoinType.INNER_JOIN, conditions);
     }
 
@@ -191,7 +416,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * @param conditions
      * @return {@link com.dilipkumarg.qb.SelectQueryBuilder} instance.
      */
-    public SelectQueryBuilder leftJoin(SqlTable table, WhereCondition... conditions) {
+    public SelectQueryBuilder leftJoin(SqlTable table, Condition... conditions) {
         return this.join(table, JoinType.LEFT_JOIN, conditions);
     }
 
@@ -204,7 +429,7 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * @param conditions
      * @return {@link com.dilipkumarg.qb.SelectQueryBuilder} instance.
      */
-    public SelectQueryBuilder rightJoin(SqlTable table, WhereCondition... conditions) {
+    public SelectQueryBuilder rightJoin(SqlTable table, Condition... conditions) {
         return this.join(table, JoinType.RIGHT_JOIN, conditions);
     }
 
@@ -217,31 +442,67 @@ public class SelectQueryBuilder extends AbstractQueryBuilder implements WhereCla
      * @param conditions
      * @return {@link com.dilipkumarg.qb.SelectQueryBuilder} instance.
      */
-    public SelectQueryBuilder fullJoin(SqlTable table, WhereCondition... conditions) {
+    public SelectQueryBuilder fullJoin(SqlTable table, Condition... conditions) {
         return this.join(table, JoinType.FULL_JOIN, conditions);
     }
 
     @Override
-    public SqlQuery build() {
-        SqlQuery whereQuery = buildWhere();
-        SqlQuery joins = joinDelegator.build();
-        StringBuilder sb = new StringBuilder();
-        String select = isDistinct() ? SELECT_DISTINCT : SELECT;
-        sb.append(String.format(SELECT_TEMPLATE, select, buildSelectedFieldsString(),
-                getTable().getTableName(WITH_ALIAS)));
-
-        if (!joins.getQuery().isEmpty()) {
-            sb.append(" ");
-            sb.append(joins.getQuery());
+    public void render(QueryRenderer renderer) {
+        renderer.append(isDistinct() ? SELECT_DISTINCT : SELECT);
+        renderer.getDialect().renderSelectLimit(renderer, limit, offset);
+        renderSelectedFields(renderer);
+        renderer.append(FROM).appendTable(getTable(), WITH_ALIAS);
+        joinDelegator.render(renderer);
+        if (seekValues == null) {
+            whereDelegator.renderWhere(renderer);
+        } else {
+            // conditions are merged with the seek predicate, so they are rendered as AND operands.
+            renderer.append(WHERE);
+            if (!whereDelegator.isEmpty()) {
+                whereDelegator.renderConditions(renderer);
+                renderer.append(AND);
+            }
+            new KeysetCondition(Lists.newArrayList(orderByEntries), seekValues, rowValueSeek)
+                    .render(renderer, WITH_ALIAS);
         }
+        renderGroupBy(renderer);
+        renderOrderBy(renderer);
+        renderer.getDialect().renderLimit(renderer, limit, offset, !orderByEntries.isEmpty());
+    }
 
-        if (!whereQuery.getQuery().isEmpty()) {
-            sb.append(" ");
-            sb.append(whereQuery.getQuery());
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        shape.add(distinct).add(selectedColumns.size());
+        for (int i = 0; i < selectedColumns.size(); i++) {
+            selectedColumns.get(i).addShape(shape);
+        }
+        joinDelegator.addShape(shape);
+        whereDelegator.addWhereShape(shape);
+        shape.add(seekValues != null ? seekValues.length : -1).add(rowValueSeek);
+        shape.add(groupByColumns.size());
+        for (int i = 0; i < groupByColumns.size(); i++) {
+            shape.add(groupByColumns.get(i));
         }
-        sb.append(" ");// it is a last part, so No need to validate.
-        sb.append(buildOrderByString());
-        return new SqlQuery(sb.toString(), ArrayUtils.addAll(joins.getArgs(), whereQuery.getArgs()));
+        havingDelegator.addWhereShape(shape);
+        shape.add(orderByEntries.size());
+        for (OrderByEntry entry : orderByEntries) {
+            entry.addShape(shape);
+        }
+        shape.add(limit != null).add(offset != null);
     }
 
+    @Override
+    protected void resetClauses() {
+        selectedColumns.clear();
+        groupByColumns.clear();
+        havingDelegator.clearWhere();
+        orderByEntries.clear();
+        joinDelegator.clear();
+        whereDelegator.clearWhere();
+        distinct = false;
+        limit = null;
+        offset = null;
+        seekValues = null;
+        rowValueSeek = false;
+    }
 }
@@ -14,52 +14,193 @@
  */
 package com.dilipkumarg.qb;
 
-import java.util.List;
-
-import org.apache.commons.lang.ArrayUtils;
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
 
+import com.dilipkumarg.qb.core.AbstractWhereClause;
 import com.dilipkumarg.qb.core.InsertableQueryBuilder;
-import com.dilipkumarg.qb.core.NonAliasBasedWhereClause;
+import com.dilipkumarg.qb.core.JoinClauseBuilder;
+import com.dilipkumarg.qb.core.JoinCondition;
+import com.dilipkumarg.qb.core.JoinType;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
 import com.dilipkumarg.qb.core.WhereClauseBuilder;
+import com.dilipkumarg.qb.dialect.UpdateJoinStyle;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.Condition;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
 import com.dilipkumarg.qb.models.TableColumn;
-import com.dilipkumarg.qb.models.WhereCondition;
-import com.google.common.collect.Lists;
 
 /**
+ * Builds update statements. A column can be set to a value or to another {@link TableColumn}, eg. a column of a
+ * joined table. When tables are joined the statement is rendered in the {@link UpdateJoinStyle} of the dialect and
+ * all the columns are prefixed with table alias.
+ *
  * @author Dilip Kumar.
  * @since 2/7/14
  */
 public class UpdateQueryBuilder extends InsertableQueryBuilder<UpdateQueryBuilder> implements WhereClauseBuilder {
-    private static final String UPDATE_TEMPLATE = "UPDATE %s SET %s %s";
-    private final WhereClauseBuilder whereDelegator;
+    private static final String UPDATE = "UPDATE ";
+    private static final String SET = " SET ";
+    private static final String FROM = " FROM ";
+    private static final String WHERE = " WHERE ";
+    private static final String AND = " AND ";
+    private final UpdateWhereClause whereDelegator;
+    private final JoinClauseBuilder joinDelegator;
 
     public UpdateQueryBuilder(SqlTable table) {
         super(table);
-        whereDelegator = new NonAliasBasedWhereClause();
+        joinDelegator = new JoinClauseBuilder();
+        whereDelegator = new UpdateWhereClause();
+    }
+
+    /**
+     * Joins the given table, its columns can be used in the conditions and as the values of the updated columns.
+     * {@link UpdateJoinStyle#FROM} dialects allow only {@link JoinType#INNER_JOIN}.
+     *
+     * @param table
+     * @param type
+     * @param conditions
+     * @return current {@link UpdateQueryBuilder} instance.
+     */
+    public UpdateQueryBuilder join(SqlTable table, JoinType type, Condition... conditions) {
+        joinDelegator.join(table, type, conditions);
+        return this;
     }
 
+    public UpdateQueryBuilder innerJoin(SqlTable table, Condition... conditions) {
+        return join(table, JoinType.INNER_JOIN, conditions);
+    }
 
-    protected String buildArgumentsQueryString() {
-        List<String> columns = Lists.newArrayList();
-        for (TableColumn arg : getArguments().keySet()) {
-            columns.add(arg.getFieldName() + "=" + PLACE_HOLDER);
+    public UpdateQueryBuilder leftJoin(SqlTable table, Condition... conditions) {
+        return join(table, JoinType.LEFT_JOIN, conditions);
+    }
+
+    private boolean isJoined() {
+        return !joinDelegator.isEmpty();
+    }
+
+    protected void renderArguments(QueryRenderer renderer) {
+        renderArguments(renderer, false, false);
+    }
+
+    /**
+     * @param renderer
+     * @param qualified true to prefix the updated columns with table alias.
+     * @param withAlias true to prefix the column values with table alias.
+     */
+    private void renderArguments(QueryRenderer renderer, boolean qualified, boolean withAlias) {
+        boolean first = true;
+        for (Map.Entry<TableColumn, Object> arg : getArguments().entrySet()) {
+            if (!first) {
+                renderer.append(SEPARATOR);
+            }
+            renderer.appendColumn(arg.getKey(), qualified).append('=');
+            if (arg.getValue() instanceof TableColumn) {
+                renderer.appendColumn((TableColumn) arg.getValue(), withAlias);
+            } else {
+                renderer.append(PLACE_HOLDER).addArgument(arg.getValue());
+            }
+            first = false;
+        }
+    }
+
+    @Override
+    protected void renderInsertableQuery(QueryRenderer renderer) {
+        if (!isJoined()) {
+            renderer.append(UPDATE).appendTable(getTable(), false).append(SET);
+            renderArguments(renderer);
+            whereDelegator.renderWhere(renderer);
+            return;
+        }
+        UpdateJoinStyle style = renderer.getDialect().getUpdateJoinStyle();
+        switch (style) {
+            case FROM:
+                renderFrom(renderer);
+                break;
+            case JOIN:
+                renderer.append(UPDATE).appendTable(getTable(), true);
+                joinDelegator.render(renderer);
+                renderer.append(SET);
+                renderArguments(renderer, true, true);
+                whereDelegator.renderWhere(renderer);
+                break;
+            case FROM_JOIN:
+                renderer.append(UPDATE).append(renderer.getIdentifierQuote().quote(getTable().getTableAlias()))
+                        .append(SET);
+                renderArguments(renderer, false, true);
+                renderer.append(FROM).appendTable(getTable(), true);
+                joinDelegator.render(renderer);
+                whereDelegator.renderWhere(renderer);
+                break;
+            default:
+                throw new QueryBuilderRuntimeException(renderer.getDialect() + " doesn't support update with joins");
+        }
+    }
+
+    private void renderFrom(QueryRenderer renderer) {
+        renderer.append(UPDATE).appendTable(getTable(), true).append(SET);
+        renderArguments(renderer, false, true);
+        renderer.append(FROM);
+        boolean first = true;
+        for (JoinCondition join : joinDelegator.getJoinConditions()) {
+            if (join.getType() != JoinType.INNER_JOIN) {
+                throw new QueryBuilderRuntimeException(renderer.getDialect() + " supports only inner joins in " +
+                        "update, found " + join.getType());
+            }
+            if (!first) {
+                renderer.append(SEPARATOR);
+            }
+            renderer.appendTable(join.getTable(), true);
+            first = false;
+        }
+        // join conditions become the first conditions of where clause.
+        first = true;
+        for (JoinCondition join : joinDelegator.getJoinConditions()) {
+            if (!join.getOnClauseBuilder().isEmpty()) {
+                renderer.append(first ? WHERE : AND);
+                join.getOnClauseBuilder().renderConditions(renderer);
+                first = false;
+            }
+        }
+        if (!whereDelegator.isEmpty()) {
+            renderer.append(first ? WHERE : AND);
+            whereDelegator.renderConditions(renderer);
         }
-        return StringUtils.join(columns, SEPARATOR);
     }
 
     @Override
-    protected SqlQuery buildInsertableQuery() {
-        SqlQuery whereQuery = buildWhere();
-        String queryString = String.format(UPDATE_TEMPLATE, getTable().getTableName(), buildArgumentsQueryString(),
-                whereQuery.getQuery());
+    protected void resetClauses() {
+        super.resetClauses();
+        joinDelegator.clear();
+        whereDelegator.clearWhere();
+    }
 
-        Object[] args = ArrayUtils.addAll(getArguments().values().toArray(), whereQuery.getArgs());
-        return new SqlQuery(queryString, args);
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        super.addShape(shape);
+        for (Object value : getArguments().values()) {
+            shape.add(value instanceof TableColumn ? value : null);
+        }
+        joinDelegator.addShape(shape);
+        whereDelegator.addWhereShape(shape);
     }
 
+    /**
+     * Simplifies the where conditions with {@link com.dilipkumarg.qb.core.PredicateSimplifier}.
+     *
+     * @return current {@link UpdateQueryBuilder} instance.
+     * @see #isProvablyEmpty()
+     */
+    public UpdateQueryBuilder simplify() {
+        whereDelegator.simplify();
+        return this;
+    }
+
+    @Override
+    public boolean isProvablyEmpty() {
+        return whereDelegator.isUnsatisfiable();
+    }
 
     @Override
     public UpdateQueryBuilder where(TableColumn column, Object value) {
@@ -68,7 +209,7 @@ public class UpdateQueryBuilder extends InsertableQueryBuilder<UpdateQueryBuilde
     }
 
     @Override
-    public UpdateQueryBuilder where(WhereCondition... conditions) {
+    public UpdateQueryBuilder where(Condition... conditions) {
         whereDelegator.where(conditions);
         return this;
     }
@@ -77,4 +218,29 @@ public class UpdateQueryBuilder extends InsertableQueryBuilder<UpdateQueryBuilde
     public SqlQuery buildWhere() {
         return whereDelegator.buildWhere();
     }
+
+    @Override
+    public void renderWhere(QueryRenderer renderer) {
+        whereDelegator.renderWhere(renderer);
+    }
+
+    @Override
+    public void addWhereShape(ShapeBuilder shape) {
+        whereDelegator.addWhereShape(shape);
+    }
+
+    @Override
+    public void clearWhere() {
+        whereDelegator.clearWhere();
+    }
+
+    /**
+     * Prefixes the columns with table alias only when tables are joined.
+     */
+    private class UpdateWhereClause extends AbstractWhereClause<UpdateWhereClause> {
+        @Override
+        protected boolean isWithAlias() {
+            return isJoined();
+        }
+    }
 }
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.dilipkumarg.qb.core.MultiRowInsertableQueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+import com.dilipkumarg.qb.dialect.UpsertStyle;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.SqlTable;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.google.common.collect.Lists;
+
+/**
+ * Inserts the rows and updates the ones conflicting on the {@link #onConflict(TableColumn...)} columns, rendered in
+ * the {@link UpsertStyle} of the dialect. A single row can be given with {@link #set(TableColumn, Object)}, or many
+ * rows as described in {@link MultiRowInsertableQueryBuilder}.
+ * <p/>
+ * By default all the inserted columns except the conflict columns are updated, {@link #update(TableColumn...)}
+ * limits them and {@link #doNothing()} keeps the existing rows unchanged.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class UpsertQueryBuilder extends MultiRowInsertableQueryBuilder<UpsertQueryBuilder> {
+    private static final String INSERT_INTO = "INSERT INTO ";
+    private static final String VALUES = ") VALUES ";
+    private static final String ON_CONFLICT = " ON CONFLICT (";
+    private static final String DO_UPDATE_SET = ") DO UPDATE SET ";
+    private static final String DO_NOTHING = ") DO NOTHING";
+    private static final String EXCLUDED = "EXCLUDED.";
+    private static final String ON_DUPLICATE_KEY_UPDATE = " ON DUPLICATE KEY UPDATE ";
+    private static final String MERGE_INTO = "MERGE INTO ";
+    private static final String USING = " USING (";
+    private static final String USING_VALUES = " USING (VALUES ";
+    private static final String SELECT = "SELECT ";
+    private static final String FROM_DUAL = " FROM DUAL";
+    private static final String UNION_ALL = " UNION ALL ";
+    private static final String ON = " ON (";
+    private static final String AND = " AND ";
+    private static final String WHEN_MATCHED = " WHEN MATCHED THEN UPDATE SET ";
+    private static final String WHEN_NOT_MATCHED = " WHEN NOT MATCHED THEN INSERT (";
+    private static final String SOURCE = "src";
+
+    private List<TableColumn> conflictColumns;
+    private List<TableColumn> updateColumns;
+    private boolean doNothing;
+
+    public UpsertQueryBuilder(SqlTable table) {
+        super(table);
+    }
+
+    /**
+     * Sets the columns of the unique key deciding whether a row already exists, they should be inserted columns.
+     *
+     * @param columns
+     * @return current {@link UpsertQueryBuilder} instance.
+     */
+    public UpsertQueryBuilder onConflict(TableColumn... columns) {
+        if (columns.length == 0) {
+            throw new QueryBuilderRuntimeException("At least one conflict column required");
+        }
+        this.conflictColumns = Collections.unmodifiableList(Lists.newArrayList(columns));
+        return this;
+    }
+
+    /**
+     * Limits the columns updated on existing rows, they should be inserted columns.
+     *
+     * @param columns
+     * @return current {@link UpsertQueryBuilder} instance.
+     */
+    public UpsertQueryBuilder update(TableColumn... columns) {
+        if (columns.length == 0) {
+            throw new QueryBuilderRuntimeException("At least one update column required, use doNothing() to keep " +
+                    "the existing rows");
+        }
+        this.updateColumns = Collections.unmodifiableList(Lists.newArrayList(columns));
+        this.doNothing = false;
+        return this;
+    }
+
+    /**
+     * Inserts only the new rows, existing rows are kept unchanged.
+     *
+     * @return current {@link UpsertQueryBuilder} instance.
+     */
+    public UpsertQueryBuilder doNothing() {
+        this.updateColumns = null;
+        this.doNothing = true;
+        return this;
+    }
+
+    /**
+     * Renders the statement for the added rows, or for the set values when no rows added.
+     *
+     * @param renderer
+     * @throws QueryBuilderRuntimeException when nothing to insert or columns are not matching.
+     */
+    @Override
+    public void render(QueryRenderer renderer) {
+        if (getRows().isEmpty()) {
+            super.render(renderer);
+        } else {
+            validateRows();
+            renderUpsert(renderer, getColumns(), getRows());
+        }
+    }
+
+    @Override
+    protected void renderInsertableQuery(QueryRenderer renderer) {
+        List<TableColumn> columns = Lists.newArrayList(getArguments().keySet());
+        renderUpsert(renderer, columns, Collections.singletonList(getArguments().values().toArray()));
+    }
+
+    @Override
+    protected void resetClauses() {
+        super.resetClauses();
+        conflictColumns = null;
+        updateColumns = null;
+        doNothing = false;
+    }
+
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        super.addShape(shape);
+        if (getRows().isEmpty()) {
+            for (TableColumn column : getArguments().keySet()) {
+                shape.add(column);
+            }
+        }
+        shape.add(conflictColumns).add(updateColumns).add(doNothing);
+    }
+
+    private void renderUpsert(QueryRenderer renderer, List<TableColumn> columns, List<Object[]> rows) {
+        List<TableColumn> updates = getUpdateColumns(columns);
+        UpsertStyle style = renderer.getDialect().getUpsertStyle();
+        switch (style) {
+            case ON_CONFLICT:
+                renderInsert(renderer, columns, rows);
+                renderer.append(ON_CONFLICT);
+                renderColumnNames(renderer, conflictColumns);
+                if (updates.isEmpty()) {
+                    renderer.append(DO_NOTHING);
+                } else {
+                    renderer.append(DO_UPDATE_SET);
+                    renderUpdates(renderer, updates, EXCLUDED, "");
+                }
+                break;
+            case ON_DUPLICATE_KEY:
+                renderInsert(renderer, columns, rows);
+                renderer.append(ON_DUPLICATE_KEY_UPDATE);
+                if (updates.isEmpty()) {
+                    // assigning a key column to itself is the no-op update of MySQL.
+                    TableColumn key = conflictColumns.get(0);
+                    renderer.appendColumn(key, false).append('=').appendColumn(key, false);
+                } else {
+                    renderUpdates(renderer, updates, "VALUES(", ")");
+                }
+                break;
+            case MERGE:
+            case MERGE_TERMINATED:
+            case MERGE_FROM_DUAL:
+                renderMerge(renderer, style, columns, rows, updates);
+                break;
+            default:
+                throw new QueryBuilderRuntimeException(renderer.getDialect() + " doesn't support upsert");
+        }
+    }
+
+    private List<TableColumn> getUpdateColumns(List<TableColumn> columns) {
+        if (conflictColumns == null) {
+            throw new QueryBuilderRuntimeException("Conflict columns has to be set with onConflict()");
+        }
+        validateInserted(columns, conflictColumns);
+        if (doNothing) {
+            return Collections.emptyList();
+        }
+        if (updateColumns != null) {
+            validateInserted(columns, updateColumns);
+            return updateColumns;
+        }
+        List<TableColumn> updates = Lists.newArrayListWithCapacity(columns.size());
+        for (TableColumn column : columns) {
+            if (!conflictColumns.contains(column)) {
+                updates.add(column);
+            }
+        }
+        return updates;
+    }
+
+    private static void validateInserted(List<TableColumn> columns, List<TableColumn> used) {
+        for (TableColumn column : used) {
+            if (!columns.contains(column)) {
+                throw new QueryBuilderRuntimeException("Column is not inserted:" + column);
+            }
+        }
+    }
+
+    private void renderInsert(QueryRenderer renderer, List<TableColumn> columns, List<Object[]> rows) {
+        renderer.append(INSERT_INTO).appendTable(getTable(), false).append(" (");
+        renderColumnNames(renderer, columns);
+        renderer.append(VALUES);
+        renderValues(renderer, columns.size(), rows);
+    }
+
+    private static void renderValues(QueryRenderer renderer, int columnsCount, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                renderer.append(SEPARATOR);
+            }
+            renderer.append('(').appendPlaceHolders(columnsCount).append(')').addArguments(rows.get(i));
+        }
+    }
+
+    /**
+     * Renders <code>NAME=prefix NAME suffix</code> for every column.
+     */
+    private static void renderUpdates(QueryRenderer renderer, List<TableColumn> columns, String prefix,
+                                      String suffix) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                renderer.append(SEPARATOR);
+            }
+            TableColumn column = columns.get(i);
+            renderer.appendColumn(column, false).append('=').append(prefix).appendColumn(column, false)
+                    .append(suffix);
+        }
+    }
+
+    private void renderMerge(QueryRenderer renderer, UpsertStyle style, List<TableColumn> columns,
+                             List<Object[]> rows, List<TableColumn> updates) {
+        String source = renderer.getIdentifierQuote().quote(SOURCE);
+        renderer.append(MERGE_INTO).appendTable(getTable(), true);
+        if (style == UpsertStyle.MERGE_FROM_DUAL) {
+            renderer.append(USING);
+            renderSelectFromDual(renderer, columns, rows);
+            renderer.append(") ").append(source);
+        } else {
+            renderer.append(USING_VALUES);
+            renderValues(renderer, columns.size(), rows);
+            renderer.append(") ").append(source).append(" (");
+            renderColumnNames(renderer, columns);
+            renderer.append(')');
+        }
+        renderer.append(ON);
+        for (int i = 0; i < conflictColumns.size(); i++) {
+            if (i > 0) {
+                renderer.append(AND);
+            }
+            TableColumn column = conflictColumns.get(i);
+            renderer.appendColumn(column, true).append(" = ");
+            renderSourceColumn(renderer, source, column);
+        }
+        renderer.append(')');
+        if (!updates.isEmpty()) {
+            renderer.append(WHEN_MATCHED);
+            for (int i = 0; i < updates.size(); i++) {
+                if (i > 0) {
+                    renderer.append(SEPARATOR);
+                }
+                renderer.appendColumn(updates.get(i), false).append('=');
+                renderSourceColumn(renderer, source, updates.get(i));
+            }
+        }
+        renderer.append(WHEN_NOT_MATCHED);
+        renderColumnNames(renderer, columns);
+        renderer.append(VALUES).append('(');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                renderer.append(SEPARATOR);
+            }
+            renderSourceColumn(renderer, source, columns.get(i));
+        }
+        renderer.append(')');
+        if (style == UpsertStyle.MERGE_TERMINATED) {
+            renderer.append(';');
+        }
+    }
+
+    /**
+     * Renders the rows as <code>SELECT ? ID,? NAME FROM DUAL UNION ALL SELECT ?,? FROM DUAL</code>, only the first
+     * row names the columns.
+     */
+    private static void renderSelectFromDual(QueryRenderer renderer, List<TableColumn> columns, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                renderer.append(UNION_ALL);
+            }
+            renderer.append(SELECT);
+            for (int j = 0; j < columns.size(); j++) {
+                if (j > 0) {
+                    renderer.append(SEPARATOR);
+                }
+                renderer.append(PLACE_HOLDER);
+                if (i == 0) {
+                    renderer.append(' ').appendColumn(columns.get(j), false);
+                }
+            }
+            renderer.append(FROM_DUAL).addArguments(rows.get(i));
+        }
+    }
+
+    private static void renderSourceColumn(QueryRenderer renderer, String source, TableColumn column) {
+        renderer.append(source).append('.').appendColumn(column, false);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity class mapped to a table. The <code>querybuilder-processor</code> module generates a
+ * {@link com.dilipkumarg.qb.models.AbstractSqlTable} named <code>Q&lt;EntityName&gt;</code> in the same package for
+ * every annotated class, with a column for every non static, non transient field.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Table {
+
+    /**
+     * @return name of the table, defaults to the class name in upper snake case, eg. <code>ORDER_ITEM</code>.
+     */
+    String name() default "";
+
+    /**
+     * @return default alias of the table, defaults to the lower case table name.
+     */
+    String alias() default "";
+}
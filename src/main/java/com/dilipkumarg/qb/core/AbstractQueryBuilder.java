@@ -14,6 +14,13 @@
  */
 package com.dilipkumarg.qb.core;
 
+import com.dilipkumarg.qb.dialect.Dialect;
+import com.dilipkumarg.qb.dialect.Dialects;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.metrics.BuildListener;
+import com.dilipkumarg.qb.metrics.BuildListeners;
+import com.dilipkumarg.qb.models.CompiledQuery;
+import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
 
 /**
@@ -22,6 +29,7 @@ import com.dilipkumarg.qb.models.SqlTable;
  */
 public abstract class AbstractQueryBuilder implements QueryBuilder {
     private final SqlTable table;
+    private Dialect dialect = Dialects.GENERIC;
 
     protected AbstractQueryBuilder(SqlTable table) {
         this.table = table;
@@ -30,4 +38,163 @@ public abstract class AbstractQueryBuilder implements QueryBuilder {
     public SqlTable getTable() {
         return table;
     }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Sets the {@link Dialect} of the target database, default is {@link Dialects#GENERIC}.
+     *
+     * @param dialect
+     */
+    public void setDialect(Dialect dialect) {
+        if (dialect == null) {
+            throw new QueryBuilderRuntimeException("Dialect can't be null");
+        }
+        this.dialect = dialect;
+    }
+
+    @Override
+    public SqlQuery build() {
+        return buildQuery(null);
+    }
+
+    /**
+     * Renders the query with the {@link Dialect} of this builder into given {@link QueryRenderer}, eg. {@link QueryRenderer#threadLocal()} to reuse the same
+     * buffer for every build on a thread.
+     * <p/>
+     * When a {@link RenderCache} is set in {@link RenderCaches}, query string of an already rendered
+     * {@link #fingerprint()} is taken from the cache and only the arguments are collected, the given renderer is
+     * left empty in that case.
+     *
+     * @param renderer
+     * @return Generated {@link SqlQuery}.
+     */
+    public SqlQuery build(QueryRenderer renderer) {
+        if (renderer == null) {
+            throw new QueryBuilderRuntimeException("Renderer can't be null");
+        }
+        return buildQuery(renderer);
+    }
+
+    private SqlQuery buildQuery(QueryRenderer renderer) {
+        BuildListener listener = BuildListeners.getListener();
+        if (listener == BuildListeners.NOOP) {
+            return renderQuery(renderer);
+        }
+        long start = System.nanoTime();
+        SqlQuery query = renderQuery(renderer);
+        long duration = System.nanoTime() - start;
+        listener.queryBuilt(getClass(), duration, query.getQuery().length(), query.getArgumentsCount(),
+                fingerprint().getHash());
+        return query;
+    }
+
+    /**
+     * @param renderer null to render into a new renderer.
+     */
+    private SqlQuery renderQuery(QueryRenderer renderer) {
+        RenderCache cache = RenderCaches.getCache();
+        if (cache == null) {
+            return renderString(renderer);
+        }
+        ShapeBuilder shape = addQueryShape(ShapeBuilder.threadLocal());
+        String cached = cache.get(shape.probe());
+        if (cached == null) {
+            // rendering doesn't touch the thread local shape, so it is still valid after rendering.
+            SqlQuery query = renderString(renderer);
+            cache.put(shape.build(), query.getQuery());
+            return query;
+        }
+        QueryRenderer arguments = QueryRenderer.argumentsOnly().setDialect(dialect);
+        render(arguments);
+        return arguments.toSqlQuery(cached);
+    }
+
+    private SqlQuery renderString(QueryRenderer renderer) {
+        if (renderer != null) {
+            render(renderer.setDialect(dialect));
+            return renderer.toSqlQuery();
+        }
+        QueryRenderer fresh = new QueryRenderer().setDialect(dialect);
+        render(fresh);
+        return fresh.toSqlQuery();
+    }
+
+    @Override
+    public void build(Appendable target, ArgumentSink sink) {
+        BuildListener listener = BuildListeners.getListener();
+        QueryRenderer renderer = new QueryRenderer(target, sink).setDialect(dialect);
+        if (listener == BuildListeners.NOOP) {
+            render(renderer);
+            return;
+        }
+        long start = System.nanoTime();
+        render(renderer);
+        long duration = System.nanoTime() - start;
+        listener.queryBuilt(getClass(), duration, renderer.length(), renderer.getArgumentsCount(),
+                fingerprint().getHash());
+    }
+
+    /**
+     * Structural fingerprint of the query, made of builder type, {@link Dialect}, tables, columns, operators and
+     * other clauses. Values bound as arguments are not part of it, so builders with equal fingerprints render the
+     * same query string and can share a prepared statement or a cached rendering.
+     *
+     * @return {@link QueryShape} of the current builder.
+     */
+    public QueryShape fingerprint() {
+        return addQueryShape(new ShapeBuilder()).build();
+    }
+
+    private ShapeBuilder addQueryShape(ShapeBuilder shape) {
+        shape.add(getClass()).add(dialect).addTable(table);
+        addShape(shape);
+        return shape;
+    }
+
+    /**
+     * Adds the clauses of the query to the given {@link ShapeBuilder}. Every part changing the query string must be
+     * added, builder type, dialect and table are already added.
+     *
+     * @param shape
+     */
+    protected abstract void addShape(ShapeBuilder shape);
+
+    /**
+     * Clears everything added to the builder and sets the dialect back to {@link Dialects#GENERIC}, so the builder
+     * can be reused for another query without allocating new one.
+     */
+    public void reset() {
+        dialect = Dialects.GENERIC;
+        resetClauses();
+    }
+
+    /**
+     * Clears the clauses added to the builder, called by {@link #reset()}.
+     */
+    protected abstract void resetClauses();
+
+    /**
+     * Returns true if the query is known to select or change no rows, so it needn't be executed. Builders find it
+     * only when their conditions are simplified, eg. {@link com.dilipkumarg.qb.SelectQueryBuilder#simplify()}.
+     *
+     * @return true if the query provably matches no rows.
+     */
+    public boolean isProvablyEmpty() {
+        return false;
+    }
+
+    /**
+     * Freezes the current shape of the builder into a {@link CompiledQuery}. Values added to the builder are only
+     * used to find the number of arguments, new values has to be given at {@link CompiledQuery#bind(Object...)}.
+     * Later changes to the builder won't affect the returned {@link CompiledQuery}.
+     *
+     * @return {@link CompiledQuery} for the current shape.
+     */
+    public CompiledQuery compile() {
+        SqlQuery query = build();
+        return new CompiledQuery(query.getQuery(), query.getArgumentsCount());
+    }
 }
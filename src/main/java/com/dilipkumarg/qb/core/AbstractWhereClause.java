@@ -17,8 +17,8 @@ package com.dilipkumarg.qb.core;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
-
+import com.dilipkumarg.qb.models.Condition;
+import com.dilipkumarg.qb.models.LogicalOperator;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.TableColumn;
 import com.dilipkumarg.qb.models.WhereCondition;
@@ -30,9 +30,9 @@ import com.google.common.collect.Lists;
  */
 public abstract class AbstractWhereClause<T extends AbstractWhereClause<T>> implements
         WhereClauseBuilder {
-    protected static final String WHERE_TEMPLATE = "WHERE %s";
+    protected static final String WHERE_PREFIX = " WHERE ";
     protected static final String WHERE_SEPARATOR = " AND ";
-    private List<WhereCondition> conditions;
+    private List<Condition> conditions;
 
     protected AbstractWhereClause() {
         conditions = Lists.newArrayList();
@@ -43,7 +43,7 @@ public abstract class AbstractWhereClause<T extends AbstractWhereClause<T>> impl
      * @param whereConditions
      * @return
      */
-    public T where(WhereCondition... whereConditions) {
+    public T where(Condition... whereConditions) {
         conditions.addAll(Arrays.asList(whereConditions));
         return (T) this;
     }
@@ -63,46 +63,118 @@ public abstract class AbstractWhereClause<T extends AbstractWhereClause<T>> impl
     /**
      * List of conditions.
      *
-     * @return {@link WhereCondition} list.
+     * @return {@link Condition} list.
      */
-    protected List<WhereCondition> getConditions() {
+    protected List<Condition> getConditions() {
         return conditions;
     }
 
+    /**
+     * @return true if {@link TableColumn} should be prefixed with table alias.
+     */
+    protected abstract boolean isWithAlias();
+
     /**
      * @param condition
      * @return {@link String} Condition with/with out alias name for the {@link TableColumn}.
      */
-    protected abstract String getWhereCondition(WhereCondition condition);
+    protected String getWhereCondition(WhereCondition condition) {
+        return isWithAlias() ? condition.buildConditionWithAlias() : condition.buildConditionWithoutAlias();
+    }
 
+    /**
+     * @return String rendered before the conditions.
+     */
+    protected String getClausePrefix() {
+        return WHERE_PREFIX;
+    }
 
     /**
-     * Combines the given conditions and generates the string.
-     *
-     * @param strings
-     * @return {@link String} generated where statement.
+     * @return String rendered after the conditions.
      */
-    protected String buildWhereString(List<String> strings) {
-        String argsString = StringUtils.join(strings, WHERE_SEPARATOR);
-        return String.format(WHERE_TEMPLATE, argsString);
+    protected String getClauseSuffix() {
+        return "";
     }
 
     /**
-     * Builds the where String, For given conditions. If there is no conditions it returns empty query.
+     * Builds the where String, For given conditions. If there is no conditions it returns empty query. Building
+     * doesn't modify the clause or its conditions, so it can be called from multiple threads as long as no
+     * conditions are added concurrently.
      *
      * @return Generated {@link SqlQuery}.
      */
     public SqlQuery buildWhere() {
+        QueryRenderer renderer = new QueryRenderer();
+        renderWhere(renderer);
+        return renderer.toSqlQuery();
+    }
+
+    @Override
+    public void renderWhere(QueryRenderer renderer) {
         if (!conditions.isEmpty()) {
-            List<String> strings = Lists.newArrayList();
-            List<Object> values = Lists.newArrayList();
-            for (WhereCondition condition : conditions) {
-                strings.add(getWhereCondition(condition));
-                values.addAll(condition.getValues());
+            renderer.append(getClausePrefix());
+            if (conditions.size() == 1) {
+                // a single condition is the whole clause, so it doesn't need parenthesis.
+                conditions.get(0).render(renderer, isWithAlias());
+            } else {
+                renderConditions(renderer);
+            }
+            renderer.append(getClauseSuffix());
+        }
+    }
+
+    /**
+     * Renders {@value #WHERE_SEPARATOR} separated conditions without prefix and suffix, eg. to merge them with
+     * other conditions. OR conditions are rendered in parenthesis.
+     *
+     * @param renderer
+     */
+    public void renderConditions(QueryRenderer renderer) {
+        boolean withAlias = isWithAlias();
+        for (int i = 0; i < conditions.size(); i++) {
+            if (i > 0) {
+                renderer.append(WHERE_SEPARATOR);
             }
-            return new SqlQuery(buildWhereString(strings), values.toArray());
-        } else {
-            return new SqlQuery("");
+            LogicalOperator.AND.renderOperand(renderer, conditions.get(i), withAlias);
         }
     }
+
+    /**
+     * Replaces the conditions with their {@link PredicateSimplifier} simplification. Conditions which can never be
+     * true are replaced by {@link PredicateSimplifier#NEVER}.
+     *
+     * @return true if the conditions can be true.
+     */
+    public boolean simplify() {
+        List<Condition> simplified = PredicateSimplifier.simplify(conditions);
+        conditions = Lists.newArrayList(simplified);
+        return !isUnsatisfiable();
+    }
+
+    /**
+     * @return true if the conditions are found to be never true by {@link #simplify()}.
+     */
+    public boolean isUnsatisfiable() {
+        return conditions.contains(PredicateSimplifier.NEVER);
+    }
+
+    /**
+     * @return true if there are no conditions.
+     */
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    @Override
+    public void addWhereShape(ShapeBuilder shape) {
+        shape.add(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            conditions.get(i).addShape(shape);
+        }
+    }
+
+    @Override
+    public void clearWhere() {
+        conditions.clear();
+    }
 }
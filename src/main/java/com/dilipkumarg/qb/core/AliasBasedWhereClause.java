@@ -14,15 +14,13 @@
  */
 package com.dilipkumarg.qb.core;
 
-import com.dilipkumarg.qb.models.WhereCondition;
-
 /**
  * @author Dilip Kumar.
  * @since 1/7/14
  */
 public class AliasBasedWhereClause extends AbstractWhereClause<AliasBasedWhereClause> {
     @Override
-    protected String getWhereCondition(WhereCondition condition) {
-        return condition.buildConditionWithAlias();
+    protected boolean isWithAlias() {
+        return true;
     }
 }
@@ -14,11 +14,12 @@
  */
 package com.dilipkumarg.qb.core;
 
+import java.util.Collection;
 import java.util.Map;
 
+import com.dilipkumarg.qb.dialect.Dialect;
 import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
 import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
-import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
 import com.dilipkumarg.qb.models.TableColumn;
 import com.google.common.collect.Maps;
@@ -36,6 +37,17 @@ public abstract class InsertableQueryBuilder<T extends InsertableQueryBuilder<T>
         arguments = Maps.newLinkedHashMap();
     }
 
+    /**
+     * Sets the {@link com.dilipkumarg.qb.dialect.Dialect} of the target database.
+     *
+     * @param dialect
+     * @return current builder.
+     */
+    public T dialect(Dialect dialect) {
+        setDialect(dialect);
+        return (T) this;
+    }
+
     public T set(TableColumn column, Object value) throws DuplicateArgumentException {
         if (!arguments.containsKey(column)) {
             arguments.put(column, value);
@@ -56,20 +68,57 @@ public abstract class InsertableQueryBuilder<T extends InsertableQueryBuilder<T>
     }
 
     /**
-     * @return Generated {@link SqlQuery}.
+     * Renders {@value #SEPARATOR} separated names of the given columns without alias.
+     *
+     * @param renderer
+     * @param columns
+     */
+    protected void renderColumnNames(QueryRenderer renderer, Collection<TableColumn> columns) {
+        boolean first = true;
+        for (TableColumn column : columns) {
+            if (!first) {
+                renderer.append(SEPARATOR);
+            }
+            renderer.appendColumn(column, false);
+            first = false;
+        }
+    }
+
+    /**
+     * Adds the set columns to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        shape.add(arguments.size());
+        for (TableColumn column : arguments.keySet()) {
+            shape.add(column);
+        }
+    }
+
+    @Override
+    protected void resetClauses() {
+        arguments.clear();
+    }
+
+    /**
+     * Renders the query for given arguments, called only when at least one argument added.
+     *
+     * @param renderer
      */
-    protected abstract SqlQuery buildInsertableQuery();
+    protected abstract void renderInsertableQuery(QueryRenderer renderer);
 
     /**
-     * Builds the {@link SqlQuery} for given properties. Throws Exception when no arguments found.
+     * Renders the query for given properties. Throws Exception when no arguments found.
      *
-     * @return {@link SqlQuery}.
+     * @param renderer
      * @throws com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException
      */
     @Override
-    public SqlQuery build() {
+    public void render(QueryRenderer renderer) {
         if (getArguments().size() > 0) {
-            return buildInsertableQuery();
+            renderInsertableQuery(renderer);
         } else {
             throw new QueryBuilderRuntimeException("You have not added any columns for insertion. Hence operation not" +
                     " permitted");
@@ -14,8 +14,8 @@
  */
 package com.dilipkumarg.qb.core;
 
+import com.dilipkumarg.qb.models.Condition;
 import com.dilipkumarg.qb.models.SqlTable;
-import com.dilipkumarg.qb.models.WhereCondition;
 
 /**
  * @author Dilip Kumar.
@@ -38,5 +38,5 @@ public interface JoinBuilder extends QueryBuilder {
      * @param conditions
      * @return {@link com.dilipkumarg.qb.core.JoinBuilder} instance.
      */
-    public JoinBuilder join(SqlTable table, JoinType type, WhereCondition... conditions);
+    public JoinBuilder join(SqlTable table, JoinType type, Condition... conditions);
 }
@@ -14,16 +14,13 @@
  */
 package com.dilipkumarg.qb.core;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
-import org.apache.commons.lang.StringUtils;
-
+import com.dilipkumarg.qb.models.Condition;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.SqlTable;
-import com.dilipkumarg.qb.models.WhereCondition;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 /**
@@ -42,7 +39,7 @@ public class JoinClauseBuilder implements JoinBuilder {
         return this;
     }
 
-    public JoinClauseBuilder join(SqlTable table, JoinType type, WhereCondition... conditions) {
+    public JoinClauseBuilder join(SqlTable table, JoinType type, Condition... conditions) {
         OnClauseBuilder builder = new OnClauseBuilder();
         builder.where(conditions);
         return join(new JoinCondition(table, type, builder));
@@ -51,15 +48,56 @@ public class JoinClauseBuilder implements JoinBuilder {
 
     @Override
     public SqlQuery build() {
-        List<Object> args = Lists.newArrayList();
-        List<String> queries = Lists.newArrayList();
+        QueryRenderer renderer = new QueryRenderer();
+        render(renderer);
+        return renderer.toSqlQuery();
+    }
+
+    @Override
+    public void build(Appendable target, ArgumentSink sink) {
+        render(new QueryRenderer(target, sink));
+    }
 
+    /**
+     * Renders all the joins, each one prefixed with a space.
+     *
+     * @param renderer
+     */
+    @Override
+    public void render(QueryRenderer renderer) {
         for (JoinCondition condition : joinConditions) {
-            SqlQuery joinQuery = condition.buildJoin();
-            args.addAll(Arrays.asList(joinQuery.getArgs()));
-            queries.add(joinQuery.getQuery());
+            renderer.append(' ');
+            condition.render(renderer);
         }
+    }
+
+    /**
+     * Adds the structure of the joins to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    public void addShape(ShapeBuilder shape) {
+        shape.add(joinConditions.size());
+        for (JoinCondition condition : joinConditions) {
+            condition.addShape(shape);
+        }
+    }
+
+    /**
+     * @return joins in the order they added.
+     */
+    public Collection<JoinCondition> getJoinConditions() {
+        return Collections.unmodifiableSet(joinConditions);
+    }
+
+    public boolean isEmpty() {
+        return joinConditions.isEmpty();
+    }
 
-        return new SqlQuery(StringUtils.join(queries, " "), args);
+    /**
+     * Removes all the joins.
+     */
+    public void clear() {
+        joinConditions.clear();
     }
 }
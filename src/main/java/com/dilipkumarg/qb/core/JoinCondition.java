@@ -22,8 +22,6 @@ import com.dilipkumarg.qb.models.SqlTable;
  * @since 3/7/14
  */
 public class JoinCondition {
-    private final String JOIN_TEMPLATE = "%s %s";
-
     private final SqlTable table;
     private final JoinType type;
     private final OnClauseBuilder onClauseBuilder;
@@ -47,10 +45,29 @@ public class JoinCondition {
     }
 
     public SqlQuery buildJoin() {
-        SqlQuery onQuery = onClauseBuilder.buildWhere();
-        String joinQuery = String.format(JOIN_TEMPLATE, type.buildJoin(table.getTableName(true)),
-                onQuery.getQuery());
-        return new SqlQuery(joinQuery, onQuery.getArgs());
+        QueryRenderer renderer = new QueryRenderer();
+        render(renderer);
+        return renderer.toSqlQuery();
+    }
+
+    /**
+     * Renders the join with its on clause into the given {@link QueryRenderer}.
+     *
+     * @param renderer
+     */
+    public void render(QueryRenderer renderer) {
+        type.render(renderer, table);
+        onClauseBuilder.renderWhere(renderer);
+    }
+
+    /**
+     * Adds the structure of the join to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    public void addShape(ShapeBuilder shape) {
+        shape.addTable(table).add(type);
+        onClauseBuilder.addWhereShape(shape);
     }
 
     @Override
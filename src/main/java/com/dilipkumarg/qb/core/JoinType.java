@@ -14,6 +14,8 @@
  */
 package com.dilipkumarg.qb.core;
 
+import com.dilipkumarg.qb.models.SqlTable;
+
 /**
  * @author Dilip Kumar.
  * @since 3/7/14
@@ -25,7 +27,6 @@ public enum JoinType {
     FULL_JOIN("FULL JOIN"),
     FULL_OUTER_JOIN("FULL OUTER JOIN");
 
-    private static final String JOIN_TEMPLATE = "%s %s";
     private final String joinType;
 
     JoinType(String joinType) {
@@ -33,6 +34,16 @@ public enum JoinType {
     }
 
     public String buildJoin(String tableName) {
-        return String.format(JOIN_TEMPLATE, joinType, tableName);
+        return joinType + " " + tableName;
+    }
+
+    /**
+     * Renders the join type followed by the table name with alias.
+     *
+     * @param renderer
+     * @param table
+     */
+    public void render(QueryRenderer renderer, SqlTable table) {
+        renderer.append(joinType).append(' ').appendTable(table, true);
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.List;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+
+/**
+ * Seek predicate for keyset pagination. For order by entries <code>a ASC, b DESC</code> and the values of last
+ * seen row it generates <code>(a &gt; ? OR (a = ? AND b &lt; ?))</code>, which selects the rows after the last seen
+ * row and lets the database seek the index instead of skipping an offset. When every entry has the same
+ * {@link OrderType} it can also render the row value form <code>(a, b) &gt; (?, ?)</code>, if the dialect
+ * {@link com.dilipkumarg.qb.dialect.Dialect#supportsRowValueComparison()}.
+ * <p/>
+ * Ordered columns should not be nullable and the last entry should be unique, otherwise rows can be skipped.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class KeysetCondition {
+    private static final String OR = " OR ";
+
+    private final List<OrderByEntry> entries;
+    private final Object[] values;
+    private final boolean rowValue;
+
+    /**
+     * @param entries  order by entries of the query.
+     * @param values   values of the last seen row in the order of entries.
+     * @param rowValue true to use row value comparison when possible.
+     */
+    public KeysetCondition(List<OrderByEntry> entries, Object[] values, boolean rowValue) {
+        if (entries.isEmpty()) {
+            throw new QueryBuilderRuntimeException("Keyset pagination requires order by entries");
+        }
+        if (entries.size() != values.length) {
+            throw new QueryBuilderRuntimeException("Keyset pagination requires " + entries.size() + " values, one " +
+                    "for each order by entry, but found " + values.length);
+        }
+        this.entries = entries;
+        this.values = values;
+        this.rowValue = rowValue;
+    }
+
+    /**
+     * @return true if row value comparison can be rendered for the entries.
+     */
+    public boolean isRowValueApplicable() {
+        OrderType type = entries.get(0).getOrderType();
+        for (OrderByEntry entry : entries) {
+            if (entry.getOrderType() != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders the seek predicate, it can be combined with other conditions using AND without parenthesis.
+     *
+     * @param renderer
+     * @param withAlias
+     */
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        if (rowValue && entries.size() > 1 && renderer.getDialect().supportsRowValueComparison()
+                && isRowValueApplicable()) {
+            renderRowValue(renderer, withAlias);
+        } else {
+            renderExpanded(renderer, withAlias);
+        }
+    }
+
+    private void renderRowValue(QueryRenderer renderer, boolean withAlias) {
+        renderer.append('(');
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                renderer.append(", ");
+            }
+            renderer.appendColumn(entries.get(i).getColumn(), withAlias);
+        }
+        renderer.append(") ")
+                .append(entries.get(0).getOrderType().getSeekOperator().getOperator())
+                .append(" (");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                renderer.append(", ");
+            }
+            renderer.append(QueryBuilder.PLACE_HOLDER).addArgument(values[i]);
+        }
+        renderer.append(')');
+    }
+
+    private void renderExpanded(QueryRenderer renderer, boolean withAlias) {
+        renderer.append('(');
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                renderer.append(OR).append('(');
+            }
+            for (int j = 0; j < i; j++) {
+                renderer.appendColumn(entries.get(j).getColumn(), withAlias).append(" = ")
+                        .append(QueryBuilder.PLACE_HOLDER).addArgument(values[j])
+                        .append(AbstractWhereClause.WHERE_SEPARATOR);
+            }
+            OrderByEntry entry = entries.get(i);
+            renderer.appendColumn(entry.getColumn(), withAlias).append(' ')
+                    .append(entry.getOrderType().getSeekOperator().getOperator()).append(' ')
+                    .append(QueryBuilder.PLACE_HOLDER).addArgument(values[i]);
+            if (i > 0) {
+                renderer.append(')');
+            }
+        }
+        renderer.append(')');
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.SqlTable;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.google.common.collect.Lists;
+
+/**
+ * Base for the builders writing many rows with the same set of columns. Columns are given either with
+ * {@link #columns(TableColumn...)} followed by {@link #addRow(Object...)} calls, or by setting the values with
+ * {@link #set(TableColumn, Object)} and committing them with {@link #addRow()}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public abstract class MultiRowInsertableQueryBuilder<T extends MultiRowInsertableQueryBuilder<T>> extends
+        InsertableQueryBuilder<T> {
+    private final List<Object[]> rows;
+    private List<TableColumn> columns;
+
+    protected MultiRowInsertableQueryBuilder(SqlTable table) {
+        super(table);
+        rows = Lists.newArrayList();
+    }
+
+    /**
+     * Sets the columns of the rows, it can be set only before adding any rows.
+     *
+     * @param columns
+     * @return current builder.
+     */
+    public T columns(TableColumn... columns) {
+        if (!rows.isEmpty()) {
+            throw new QueryBuilderRuntimeException("Columns can't be changed after adding rows");
+        }
+        if (columns.length == 0) {
+            throw new QueryBuilderRuntimeException("At least one column required for insertion");
+        }
+        this.columns = Collections.unmodifiableList(Lists.newArrayList(columns));
+        return (T) this;
+    }
+
+    /**
+     * Adds a row with the values in the order of {@link #columns(TableColumn...)}. Given array is not copied.
+     *
+     * @param values
+     * @return current builder.
+     */
+    public T addRow(Object... values) {
+        if (columns == null) {
+            throw new QueryBuilderRuntimeException("Columns has to be set before adding rows");
+        }
+        if (values.length != columns.size()) {
+            throw new QueryBuilderRuntimeException("Row should have " + columns.size() + " values, but found " +
+                    values.length);
+        }
+        rows.add(values);
+        return (T) this;
+    }
+
+    /**
+     * Adds the values given through {@link #set(TableColumn, Object)} as a row and clears them for the next row. The
+     * first row decides the columns, every following row should set the same columns.
+     *
+     * @return current builder.
+     */
+    public T addRow() {
+        Map<TableColumn, Object> arguments = getArguments();
+        if (arguments.isEmpty()) {
+            throw new QueryBuilderRuntimeException("You have not added any columns for the row");
+        }
+        if (columns == null) {
+            columns(arguments.keySet().toArray(new TableColumn[arguments.size()]));
+        }
+        Object[] row = new Object[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            TableColumn column = columns.get(i);
+            if (!arguments.containsKey(column)) {
+                throw new QueryBuilderRuntimeException("Column not set for the row:" + column);
+            }
+            row[i] = arguments.get(column);
+        }
+        if (arguments.size() != row.length) {
+            throw new QueryBuilderRuntimeException("Row has columns other than " + columns);
+        }
+        arguments.clear();
+        return addRow(row);
+    }
+
+    /**
+     * @return columns of the rows, null if not decided yet.
+     */
+    public List<TableColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return added rows.
+     */
+    public List<Object[]> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * @throws QueryBuilderRuntimeException when values are set but not added as a row, or no rows are added.
+     */
+    protected void validateRows() {
+        if (!getArguments().isEmpty()) {
+            throw new QueryBuilderRuntimeException("Values set for a row which is not added, call addRow() first");
+        }
+        if (rows.isEmpty()) {
+            throw new QueryBuilderRuntimeException("You have not added any rows for insertion. Hence operation not" +
+                    " permitted");
+        }
+    }
+
+    /**
+     * Renders the place holders of one row, <code>(?,?)</code>.
+     *
+     * @param renderer
+     */
+    protected void renderRow(QueryRenderer renderer) {
+        renderer.append('(').appendPlaceHolders(columns.size()).append(')');
+    }
+
+    /**
+     * Renders {@value #SEPARATOR} separated rows with their arguments, from inclusive and to exclusive.
+     *
+     * @param renderer
+     * @param from
+     * @param to
+     */
+    protected void renderRows(QueryRenderer renderer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                renderer.append(SEPARATOR);
+            }
+            renderRow(renderer);
+            renderer.addArguments(rows.get(i));
+        }
+    }
+
+    @Override
+    protected void resetClauses() {
+        super.resetClauses();
+        rows.clear();
+        columns = null;
+    }
+
+    @Override
+    protected void addShape(ShapeBuilder shape) {
+        shape.add(columns).add(rows.size()).add(getArguments().size());
+    }
+}
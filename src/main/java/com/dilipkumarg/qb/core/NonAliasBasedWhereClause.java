@@ -14,8 +14,6 @@
  */
 package com.dilipkumarg.qb.core;
 
-import com.dilipkumarg.qb.models.WhereCondition;
-
 /**
  * @author Dilip Kumar.
  * @since 1/7/14
@@ -23,7 +21,7 @@ import com.dilipkumarg.qb.models.WhereCondition;
 public class NonAliasBasedWhereClause extends AbstractWhereClause {
 
     @Override
-    protected String getWhereCondition(WhereCondition condition) {
-        return condition.buildConditionWithoutAlias();
+    protected boolean isWithAlias() {
+        return false;
     }
 }
@@ -14,20 +14,21 @@
  */
 package com.dilipkumarg.qb.core;
 
-import java.util.List;
-
-import org.apache.commons.lang.StringUtils;
-
 /**
  * @author Dilip Kumar.
  * @since 3/7/14
  */
 public class OnClauseBuilder extends AliasBasedWhereClause {
-    private static final String ON_TEMPLATE = "ON (%s)";
+    private static final String ON_PREFIX = " ON (";
+    private static final String ON_SUFFIX = ")";
+
+    @Override
+    protected String getClausePrefix() {
+        return ON_PREFIX;
+    }
 
     @Override
-    protected String buildWhereString(List<String> strings) {
-        String conditionsString = StringUtils.join(strings, WHERE_SEPARATOR);
-        return String.format(ON_TEMPLATE, conditionsString);
+    protected String getClauseSuffix() {
+        return ON_SUFFIX;
     }
 }
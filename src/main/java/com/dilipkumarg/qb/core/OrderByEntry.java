@@ -47,6 +47,25 @@ public class OrderByEntry {
         return column.getFieldName(withAlias) + " " + orderType.name();
     }
 
+    /**
+     * Renders the {@link OrderByEntry} into the given {@link QueryRenderer}.
+     *
+     * @param renderer
+     * @param withAlias
+     */
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        renderer.appendColumn(column, withAlias).append(' ').append(orderType.name());
+    }
+
+    /**
+     * Adds the column and order type to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    public void addShape(ShapeBuilder shape) {
+        shape.add(column).add(orderType);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -14,18 +14,29 @@
  */
 package com.dilipkumarg.qb.core;
 
+import com.dilipkumarg.qb.models.WhereOperator;
+
 /**
  * @author Dilip Kumar.
  * @since 2/7/14
  */
 public enum OrderType {
-    ASC("ASC"),
-    DESC("DESC");
+    ASC("ASC", WhereOperator.GREATER_THAN),
+    DESC("DESC", WhereOperator.LESS_THAN);
 
     private String orderType;
+    private final WhereOperator seekOperator;
 
-    OrderType(String orderType) {
+    OrderType(String orderType, WhereOperator seekOperator) {
         this.orderType = orderType;
+        this.seekOperator = seekOperator;
+    }
+
+    /**
+     * @return operator which selects the values coming after a value in this order.
+     */
+    public WhereOperator getSeekOperator() {
+        return seekOperator;
     }
 
 }
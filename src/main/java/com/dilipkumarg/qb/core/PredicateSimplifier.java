@@ -0,0 +1,445 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.dilipkumarg.qb.models.CompoundCondition;
+import com.dilipkumarg.qb.models.Condition;
+import com.dilipkumarg.qb.models.InListBuckets;
+import com.dilipkumarg.qb.models.LogicalOperator;
+import com.dilipkumarg.qb.models.SqlExpression;
+import com.dilipkumarg.qb.models.WhereCondition;
+import com.dilipkumarg.qb.models.WhereOperator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Normalizes the conditions of a clause before rendering:
+ * <ul>
+ * <li>identical conditions are removed and nested AND / OR nodes of same operator are flattened.</li>
+ * <li>ranges on the same expression are merged into the tightest bounds, eg. <code>AGE &gt; 10 AND AGE &gt; 20</code>
+ * into <code>AGE &gt; 20</code>, and equalities are intersected with the ranges and other equalities.</li>
+ * <li>equalities on the same expression in OR are collapsed into <code>IN</code>.</li>
+ * <li><code>IN</code> and <code>NOT IN</code> lists built from merged values are padded as per {@link InListBuckets},
+ * so merging doesn't bring back the list sizes which bucketing avoids.</li>
+ * <li>contradictions, eg. <code>AGE = 1 AND AGE = 2</code>, are replaced by {@link #NEVER}.</li>
+ * </ul>
+ * Values are compared only when they are numbers or dates of the same class, string comparisons depend on the
+ * collation of the database. Conditions with null values are left as they are.
+ * <p/>
+ * Conditions are rewritten only where a row is selected when the condition is true, contradictions are false for
+ * non null values but unknown for nulls, so operands of NOT are only deduplicated.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class PredicateSimplifier {
+    /**
+     * Condition which is never true, rendered as <code>1 = 0</code>.
+     */
+    public static final Condition NEVER = Never.INSTANCE;
+
+    private PredicateSimplifier() {
+    }
+
+    /**
+     * Simplifies the conditions joined with AND, as the conditions of a where clause.
+     *
+     * @param conditions
+     * @return simplified conditions, a single {@link #NEVER} when they can never be true.
+     */
+    public static List<Condition> simplify(List<? extends Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Condition simplified = simplify(new CompoundCondition(LogicalOperator.AND, conditions));
+        if (simplified instanceof CompoundCondition &&
+                ((CompoundCondition) simplified).getOperator() == LogicalOperator.AND) {
+            return ((CompoundCondition) simplified).getConditions();
+        }
+        return Collections.singletonList(simplified);
+    }
+
+    /**
+     * Simplifies the given condition.
+     *
+     * @param condition
+     * @return simplified condition, {@link #NEVER} when it can never be true.
+     */
+    public static Condition simplify(Condition condition) {
+        if (!(condition instanceof CompoundCondition)) {
+            return condition;
+        }
+        CompoundCondition compound = (CompoundCondition) condition;
+        LogicalOperator operator = compound.getOperator();
+        if (operator == LogicalOperator.NOT) {
+            return new CompoundCondition(operator, deduplicate(compound.getConditions().get(0)));
+        }
+        List<Condition> operands = Lists.newArrayList();
+        for (Condition operand : compound.getConditions()) {
+            Condition simplified = simplify(operand);
+            if (simplified == NEVER) {
+                if (operator == LogicalOperator.AND) {
+                    return NEVER;
+                }
+            } else {
+                addFlattened(operands, operator, simplified);
+            }
+        }
+        if (operands.isEmpty()) {
+            return NEVER;
+        }
+        List<Condition> merged = operator == LogicalOperator.AND ? mergeAnd(operands) : mergeOr(operands);
+        if (merged == null) {
+            return NEVER;
+        }
+        return merged.size() == 1 ? merged.get(0) : new CompoundCondition(operator, merged);
+    }
+
+    /**
+     * Removes identical operands and flattens nested nodes, which keeps the value of the condition for nulls too.
+     */
+    private static Condition deduplicate(Condition condition) {
+        if (!(condition instanceof CompoundCondition)) {
+            return condition;
+        }
+        CompoundCondition compound = (CompoundCondition) condition;
+        LogicalOperator operator = compound.getOperator();
+        if (operator == LogicalOperator.NOT) {
+            return new CompoundCondition(operator, deduplicate(compound.getConditions().get(0)));
+        }
+        List<Condition> operands = Lists.newArrayList();
+        for (Condition operand : compound.getConditions()) {
+            addFlattened(operands, operator, deduplicate(operand));
+        }
+        List<Condition> unique = Lists.newArrayList(Sets.newLinkedHashSet(operands));
+        return unique.size() == 1 ? unique.get(0) : new CompoundCondition(operator, unique);
+    }
+
+    private static void addFlattened(List<Condition> operands, LogicalOperator operator, Condition operand) {
+        if (operand instanceof CompoundCondition && ((CompoundCondition) operand).getOperator() == operator) {
+            operands.addAll(((CompoundCondition) operand).getConditions());
+        } else {
+            operands.add(operand);
+        }
+    }
+
+    /**
+     * @return merged operands, null when they can never be true together.
+     */
+    private static List<Condition> mergeAnd(List<Condition> operands) {
+        List<Condition> unique = Lists.newArrayList(Sets.newLinkedHashSet(operands));
+        Map<SqlExpression, List<WhereCondition>> groups = groupComparisons(unique, false);
+        List<Condition> merged = Lists.newArrayListWithCapacity(unique.size());
+        for (Condition operand : unique) {
+            if (!isComparison(operand, false)) {
+                merged.add(operand);
+                continue;
+            }
+            // a group is merged at the position of its first condition.
+            List<WhereCondition> group = groups.remove(((WhereCondition) operand).getExpression());
+            if (group == null) {
+                continue;
+            }
+            List<WhereCondition> bounds = group.size() > 1 && isOrdered(group) ? new Bounds(group).merge() : group;
+            if (bounds == null) {
+                return null;
+            }
+            merged.addAll(bounds);
+        }
+        return merged;
+    }
+
+    private static List<Condition> mergeOr(List<Condition> operands) {
+        List<Condition> unique = Lists.newArrayList(Sets.newLinkedHashSet(operands));
+        Map<SqlExpression, List<WhereCondition>> groups = groupComparisons(unique, true);
+        List<Condition> merged = Lists.newArrayListWithCapacity(unique.size());
+        for (Condition operand : unique) {
+            if (!isComparison(operand, true)) {
+                merged.add(operand);
+                continue;
+            }
+            SqlExpression expression = ((WhereCondition) operand).getExpression();
+            List<WhereCondition> group = groups.remove(expression);
+            if (group == null) {
+                continue;
+            }
+            if (group.size() == 1) {
+                merged.add(operand);
+                continue;
+            }
+            // equality is same for IN, so values are collected without comparing them.
+            List<Object> values = Lists.newArrayList();
+            for (WhereCondition condition : group) {
+                for (Object value : condition.getValues()) {
+                    if (!values.contains(value)) {
+                        values.add(value);
+                    }
+                }
+            }
+            merged.add(values.size() == 1 ? new WhereCondition(expression, WhereOperator.EQUALS, values.get(0)) :
+                    new WhereCondition(expression, WhereOperator.IN, InListBuckets.pad(values)));
+        }
+        return merged;
+    }
+
+    private static Map<SqlExpression, List<WhereCondition>> groupComparisons(List<Condition> operands,
+                                                                          boolean equalities) {
+        Map<SqlExpression, List<WhereCondition>> groups = Maps.newLinkedHashMap();
+        for (Condition operand : operands) {
+            if (isComparison(operand, equalities)) {
+                WhereCondition condition = (WhereCondition) operand;
+                List<WhereCondition> group = groups.get(condition.getExpression());
+                if (group == null) {
+                    group = Lists.newArrayList();
+                    groups.put(condition.getExpression(), group);
+                }
+                group.add(condition);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * @param equalities true to accept only EQUALS and IN.
+     * @return true if the operand compares an expression with non null values.
+     */
+    private static boolean isComparison(Condition operand, boolean equalities) {
+        if (!(operand instanceof WhereCondition)) {
+            return false;
+        }
+        WhereCondition condition = (WhereCondition) operand;
+        if (condition.getExpression() == null || condition.isColumnCondition() || condition.isLiteralCondition() ||
+                condition.isSubqueryCondition()) {
+            return false;
+        }
+        switch (condition.getOperator()) {
+            case EQUALS:
+            case IN:
+                break;
+            case NOT_EQUALS:
+            case NOT_IN:
+            case LESS_THAN:
+            case LESS_THAN_EQUALS:
+            case GREATER_THAN:
+            case GREATER_THAN_EQUALS:
+                if (equalities) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        return !condition.getValues().contains(null);
+    }
+
+    /**
+     * @return true if all the values are numbers or dates of the same class.
+     */
+    private static boolean isOrdered(List<WhereCondition> group) {
+        Class<?> type = null;
+        for (WhereCondition condition : group) {
+            for (Object value : condition.getValues()) {
+                if (!(value instanceof Number || value instanceof Date) || !(value instanceof Comparable)) {
+                    return false;
+                }
+                if (type == null) {
+                    type = value.getClass();
+                } else if (type != value.getClass()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value1, Object value2) {
+        return ((Comparable<Object>) value1).compareTo(value2);
+    }
+
+    private static boolean containsValue(List<Object> values, Object value) {
+        for (Object candidate : values) {
+            if (compare(candidate, value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bounds of the ordered values compared with one expression in AND.
+     */
+    private static final class Bounds {
+        private final List<WhereCondition> group;
+        private final SqlExpression expression;
+        private WhereCondition lower;
+        private WhereCondition upper;
+        // null when no equality, otherwise the only values allowed.
+        private List<Object> allowed;
+        private final List<Object> excluded;
+
+        private Bounds(List<WhereCondition> group) {
+            this.group = group;
+            this.expression = group.get(0).getExpression();
+            this.excluded = Lists.newArrayList();
+            for (WhereCondition condition : group) {
+                add(condition);
+            }
+        }
+
+        private void add(WhereCondition condition) {
+            switch (condition.getOperator()) {
+                case EQUALS:
+                case IN:
+                    List<Object> values = Lists.newArrayList();
+                    for (Object value : condition.getValues()) {
+                        if ((allowed == null || containsValue(allowed, value)) && !containsValue(values, value)) {
+                            values.add(value);
+                        }
+                    }
+                    allowed = values;
+                    break;
+                case NOT_EQUALS:
+                case NOT_IN:
+                    excluded.addAll(condition.getValues());
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_EQUALS:
+                    if (lower == null || isTighter(condition, lower, 1)) {
+                        lower = condition;
+                    }
+                    break;
+                default:
+                    if (upper == null || isTighter(condition, upper, -1)) {
+                        upper = condition;
+                    }
+            }
+        }
+
+        /**
+         * @param direction 1 for lower bounds, -1 for upper bounds.
+         */
+        private static boolean isTighter(WhereCondition condition, WhereCondition bound, int direction) {
+            int comparison = compare(condition.getValue(), bound.getValue()) * direction;
+            return comparison > 0 || comparison == 0 && !isInclusive(condition);
+        }
+
+        private static boolean isInclusive(WhereCondition condition) {
+            WhereOperator operator = condition.getOperator();
+            return operator == WhereOperator.GREATER_THAN_EQUALS || operator == WhereOperator.LESS_THAN_EQUALS;
+        }
+
+        private boolean isInRange(Object value) {
+            if (lower != null) {
+                int comparison = compare(value, lower.getValue());
+                if (comparison < 0 || comparison == 0 && !isInclusive(lower)) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int comparison = compare(value, upper.getValue());
+                if (comparison > 0 || comparison == 0 && !isInclusive(upper)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return merged conditions, null when they can never be true together.
+         */
+        private List<WhereCondition> merge() {
+            if (allowed == null && lower != null && upper != null &&
+                    compare(lower.getValue(), upper.getValue()) == 0 && isInRange(lower.getValue())) {
+                // a closed range of one value is an equality.
+                allowed = Lists.newArrayList(lower.getValue());
+            }
+            if (allowed != null) {
+                List<Object> values = Lists.newArrayList();
+                for (Object value : allowed) {
+                    if (isInRange(value) && !containsValue(excluded, value)) {
+                        values.add(value);
+                    }
+                }
+                if (values.isEmpty()) {
+                    return null;
+                }
+                return Collections.singletonList(values.size() == 1 ?
+                        find(WhereOperator.EQUALS, values) : find(WhereOperator.IN, InListBuckets.pad(values)));
+            }
+            if (lower != null && upper != null) {
+                int comparison = compare(lower.getValue(), upper.getValue());
+                if (comparison > 0 || comparison == 0 && !(isInclusive(lower) && isInclusive(upper))) {
+                    return null;
+                }
+            }
+            List<WhereCondition> merged = Lists.newArrayList();
+            if (lower != null) {
+                merged.add(lower);
+            }
+            if (upper != null) {
+                merged.add(upper);
+            }
+            // values out of the range are already excluded by the range.
+            List<Object> values = Lists.newArrayList();
+            for (Object value : excluded) {
+                if (isInRange(value) && !containsValue(values, value)) {
+                    values.add(value);
+                }
+            }
+            if (!values.isEmpty()) {
+                merged.add(values.size() == 1 ? find(WhereOperator.NOT_EQUALS, values) :
+                        find(WhereOperator.NOT_IN, InListBuckets.pad(values)));
+            }
+            return merged;
+        }
+
+        /**
+         * @return condition of the group with given operator and values, new condition when there is none. Keeps
+         * the typed conditions of primitive columns.
+         */
+        private WhereCondition find(WhereOperator operator, List<Object> values) {
+            for (WhereCondition condition : group) {
+                if (condition.getOperator() == operator && condition.getValues().equals(values)) {
+                    return condition;
+                }
+            }
+            return new WhereCondition(expression, operator, operator.isMultiValued() ? values : values.get(0));
+        }
+    }
+
+    /**
+     * Enum, so the shape part has value based equals.
+     */
+    private enum Never implements Condition {
+        INSTANCE;
+
+        @Override
+        public void render(QueryRenderer renderer, boolean withAlias) {
+            renderer.append("1 = 0");
+        }
+
+        @Override
+        public void addShape(ShapeBuilder shape) {
+            shape.add(this);
+        }
+    }
+}
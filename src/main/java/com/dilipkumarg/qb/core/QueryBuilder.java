@@ -30,4 +30,21 @@ public interface QueryBuilder {
      * @return Generated {@link SqlQuery}
      */
     public SqlQuery build();
+
+    /**
+     * Streams the query into the given {@link Appendable}, eg. a pooled {@link StringBuilder} or
+     * {@link java.nio.CharBuffer}, and its arguments into the given {@link ArgumentSink} in the order of place
+     * holders. Nothing else is allocated for the query string.
+     *
+     * @param target
+     * @param sink
+     */
+    public void build(Appendable target, ArgumentSink sink);
+
+    /**
+     * Renders the query and its arguments into the given {@link QueryRenderer}.
+     *
+     * @param renderer
+     */
+    public void render(QueryRenderer renderer);
 }
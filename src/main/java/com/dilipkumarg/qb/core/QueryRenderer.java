@@ -0,0 +1,357 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.dilipkumarg.qb.dialect.Dialect;
+import com.dilipkumarg.qb.dialect.Dialects;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.ColumnType;
+import com.dilipkumarg.qb.models.DerivedTable;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.SqlTable;
+import com.dilipkumarg.qb.models.TableColumn;
+
+/**
+ * Collects the query string and the arguments while the builders are walked. Every part of a query renders
+ * itself directly into one {@link StringBuilder} and one argument array, so building a query is a single pass
+ * without intermediate strings or {@link SqlQuery} objects.
+ * <p/>
+ * A renderer can also stream the query into any {@link Appendable}, eg. a pooled {@link java.nio.CharBuffer}, and
+ * the arguments into an {@link ArgumentSink}, in that case nothing is kept in the renderer.
+ * <p/>
+ * {@link #argumentsOnly()} gives a renderer which only collects the arguments, used when the query string is
+ * already known.
+ * <p/>
+ * A renderer is not thread safe. {@link #threadLocal()} gives a per thread instance which can be reused for
+ * every build on that thread.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class QueryRenderer {
+    public static final int DEFAULT_CAPACITY = 128;
+    private static final int DEFAULT_ARGS_CAPACITY = 8;
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final ThreadLocal<QueryRenderer> THREAD_LOCAL = new ThreadLocal<QueryRenderer>() {
+        @Override
+        protected QueryRenderer initialValue() {
+            return new QueryRenderer(1024);
+        }
+    };
+
+    private static final ThreadLocal<QueryRenderer> ARGUMENTS_ONLY = new ThreadLocal<QueryRenderer>() {
+        @Override
+        protected QueryRenderer initialValue() {
+            return new QueryRenderer(null, null);
+        }
+    };
+
+    // Only one of query or target is used, query when rendering to a string. Both are null when only the arguments
+    // are collected.
+    private final StringBuilder query;
+    private final Appendable target;
+    private final ArgumentSink sink;
+    private Dialect dialect = Dialects.GENERIC;
+    private IdentifierQuote identifierQuote = IdentifierQuote.NONE;
+    private int targetLength;
+    private Object[] args;
+    // Raw bits of primitive arguments, allocated when the first one is added. Sized by the number of arguments, so
+    // usually it is handed over to the SqlQuery without copying.
+    private long[] primitives;
+    private boolean hasPrimitives;
+    private boolean primitivesShared;
+    private int argsCount;
+
+    public QueryRenderer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public QueryRenderer(int capacity) {
+        this.query = new StringBuilder(capacity);
+        this.target = null;
+        this.sink = null;
+        this.args = NO_ARGS;
+    }
+
+    /**
+     * Creates renderer which writes the query to the given target and the arguments to the given sink.
+     *
+     * @param target
+     * @param sink
+     */
+    public QueryRenderer(Appendable target, ArgumentSink sink) {
+        this.query = null;
+        this.target = target;
+        this.sink = sink;
+        this.args = NO_ARGS;
+    }
+
+    /**
+     * Returns the renderer of current thread which collects only the arguments, after clearing its previous content.
+     * Appended strings are discarded but counted in {@link #length()}. Use {@link #toSqlQuery(String)} to combine
+     * the arguments with the query string.
+     *
+     * @return {@link QueryRenderer} of current thread.
+     */
+    public static QueryRenderer argumentsOnly() {
+        QueryRenderer renderer = ARGUMENTS_ONLY.get();
+        renderer.reset();
+        return renderer;
+    }
+
+    /**
+     * Returns the renderer of current thread after clearing its previous content. The buffers of this renderer are
+     * kept across builds, so it shouldn't be used again while a query is rendered into it.
+     *
+     * @return {@link QueryRenderer} of current thread.
+     */
+    public static QueryRenderer threadLocal() {
+        QueryRenderer renderer = THREAD_LOCAL.get();
+        renderer.reset();
+        return renderer;
+    }
+
+    /**
+     * Sets the {@link Dialect} used for database specific parts, including the quoting of table, alias and column
+     * names. Default is {@link Dialects#GENERIC}.
+     *
+     * @param dialect
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer setDialect(Dialect dialect) {
+        this.dialect = dialect;
+        this.identifierQuote = dialect.getIdentifierQuote();
+        return this;
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    public IdentifierQuote getIdentifierQuote() {
+        return identifierQuote;
+    }
+
+    public QueryRenderer append(String value) {
+        if (query != null) {
+            query.append(value);
+        } else {
+            if (target != null) {
+                try {
+                    target.append(value);
+                } catch (IOException e) {
+                    throw new QueryBuilderRuntimeException("Failed to write the query", e);
+                }
+            }
+            targetLength += value.length();
+        }
+        return this;
+    }
+
+    public QueryRenderer append(char value) {
+        if (query != null) {
+            query.append(value);
+        } else {
+            if (target != null) {
+                try {
+                    target.append(value);
+                } catch (IOException e) {
+                    throw new QueryBuilderRuntimeException("Failed to write the query", e);
+                }
+            }
+            targetLength++;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the field name of the column.
+     *
+     * @param column
+     * @param withAlias
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer appendColumn(TableColumn column, boolean withAlias) {
+        return append(column.getFieldName(withAlias, identifierQuote));
+    }
+
+    /**
+     * Appends the name of the table, {@link DerivedTable} is rendered with its subquery and alias.
+     *
+     * @param table
+     * @param withAlias
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer appendTable(SqlTable table, boolean withAlias) {
+        if (table instanceof DerivedTable) {
+            ((DerivedTable) table).render(this);
+            return this;
+        }
+        return append(table.getTableName(withAlias, identifierQuote));
+    }
+
+    /**
+     * Appends {@value QueryBuilder#SEPARATOR} separated place holders.
+     *
+     * @param count number of place holders.
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer appendPlaceHolders(int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                append(QueryBuilder.SEPARATOR);
+            }
+            append(QueryBuilder.PLACE_HOLDER);
+        }
+        return this;
+    }
+
+    /**
+     * Adds argument for a place holder, arguments should be added in the same order as place holders.
+     *
+     * @param value
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer addArgument(Object value) {
+        if (sink != null) {
+            sink.addArgument(value);
+        } else {
+            if (argsCount == args.length) {
+                args = Arrays.copyOf(args, Math.max(DEFAULT_ARGS_CAPACITY, argsCount << 1));
+            }
+            args[argsCount] = value;
+        }
+        argsCount++;
+        return this;
+    }
+
+    /**
+     * Adds a primitive argument without boxing it, unless the arguments are written to an {@link ArgumentSink}.
+     *
+     * @param type  primitive {@link ColumnType}.
+     * @param bits  raw bits of the value.
+     * @return current {@link QueryRenderer}.
+     */
+    public QueryRenderer addArgument(ColumnType type, long bits) {
+        if (sink != null) {
+            sink.addArgument(type.toObject(bits));
+        } else {
+            if (argsCount == args.length) {
+                args = Arrays.copyOf(args, Math.max(DEFAULT_ARGS_CAPACITY, argsCount << 1));
+            }
+            if (primitives == null) {
+                primitives = new long[argsCount + 1];
+            } else if (primitivesShared) {
+                primitives = Arrays.copyOf(primitives, Math.max(argsCount + 1, primitives.length));
+                primitivesShared = false;
+            } else if (primitives.length <= argsCount) {
+                primitives = Arrays.copyOf(primitives, Math.max(argsCount + 1, primitives.length << 1));
+            }
+            args[argsCount] = type;
+            primitives[argsCount] = bits;
+            hasPrimitives = true;
+        }
+        argsCount++;
+        return this;
+    }
+
+    public QueryRenderer addArguments(Object[] values) {
+        for (Object value : values) {
+            addArgument(value);
+        }
+        return this;
+    }
+
+    public QueryRenderer addArguments(Collection<?> values) {
+        for (Object value : values) {
+            addArgument(value);
+        }
+        return this;
+    }
+
+    /**
+     * @return length of the query rendered so far.
+     */
+    public int length() {
+        return query != null ? query.length() : targetLength;
+    }
+
+    /**
+     * @return number of arguments added so far.
+     */
+    public int getArgumentsCount() {
+        return argsCount;
+    }
+
+    /**
+     * Clears the rendered query and arguments, buffers are kept for the next use. Content already written to an
+     * {@link Appendable} target can't be cleared.
+     */
+    public void reset() {
+        if (query != null) {
+            query.setLength(0);
+        }
+        Arrays.fill(args, 0, Math.min(argsCount, args.length), null);
+        setDialect(Dialects.GENERIC);
+        hasPrimitives = false;
+        targetLength = 0;
+        argsCount = 0;
+    }
+
+    /**
+     * @return {@link SqlQuery} with the rendered query and a copy of the arguments.
+     * @throws QueryBuilderRuntimeException when the query is rendered to an {@link Appendable}.
+     */
+    public SqlQuery toSqlQuery() {
+        if (query == null) {
+            throw new QueryBuilderRuntimeException("Query is not rendered to a string, SqlQuery can't be created");
+        }
+        return toSqlQuery(query.toString());
+    }
+
+    /**
+     * @param query query string rendered earlier for same shape.
+     * @return {@link SqlQuery} with the given query and a copy of the collected arguments.
+     * @throws QueryBuilderRuntimeException when the arguments are written to an {@link ArgumentSink}.
+     */
+    public SqlQuery toSqlQuery(String query) {
+        if (sink != null) {
+            throw new QueryBuilderRuntimeException("Arguments are written to " + sink + ", SqlQuery can't be created");
+        }
+        Object[] queryArgs = argsCount == 0 ? NO_ARGS : Arrays.copyOf(args, argsCount);
+        long[] queryPrimitives = null;
+        if (hasPrimitives) {
+            if (primitives.length == argsCount) {
+                // shared with the query, so the next primitive argument copies the buffer before writing.
+                queryPrimitives = primitives;
+                primitivesShared = true;
+            } else {
+                queryPrimitives = Arrays.copyOf(primitives, argsCount);
+            }
+        }
+        return new SqlQuery(query, queryArgs, queryPrimitives);
+    }
+
+    @Override
+    public String toString() {
+        return query != null ? query.toString() : String.valueOf(target);
+    }
+}
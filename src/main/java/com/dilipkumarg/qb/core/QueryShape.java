@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import com.google.common.base.Objects;
+
+/**
+ * Structural fingerprint of a query, made of the parts deciding the query string: builder type, dialect, tables,
+ * columns, operators, join types, order by entries and sizes of the value lists. Bound values are not part of it,
+ * so two builders with the same {@link QueryShape} render the same query string.
+ * <p/>
+ * {@link #getHash()} is a cheap 64 bit key, {@link #equals(Object)} compares the parts so it can be used as an exact
+ * cache key.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class QueryShape {
+    private final long hash;
+    private final Object[] parts;
+    private final int length;
+
+    QueryShape(long hash, Object[] parts, int length) {
+        this.hash = hash;
+        this.parts = parts;
+        this.length = length;
+    }
+
+    /**
+     * @return 64 bit hash of the shape.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QueryShape)) return false;
+
+        QueryShape that = (QueryShape) o;
+
+        if (hash != that.hash || length != that.length) return false;
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equal(parts[i], that.parts[i])) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "QueryShape{" +
+                "hash=" + Long.toHexString(hash) +
+                ", parts=" + length +
+                '}';
+    }
+}
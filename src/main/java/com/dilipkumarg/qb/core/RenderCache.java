@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+
+/**
+ * Bounded cache of rendered query strings keyed by {@link QueryShape}. On a hit the builders skip rendering the
+ * query string and only collect the arguments.
+ * <p/>
+ * Entries are spread over lock striped segments by the shape hash, each segment evicts its least recently used
+ * entry when full. So the cache holds at most the given number of entries, and threads block each other only when
+ * their shapes fall in the same segment.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ * @see RenderCaches
+ */
+public final class RenderCache {
+    public static final int DEFAULT_MAX_SIZE = 1024;
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int maxSize;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RenderCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public RenderCache(int maxSize) {
+        this(maxSize, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param maxSize     maximum number of cached queries.
+     * @param concurrency expected number of concurrently building threads, rounded up to a power of two segments.
+     */
+    public RenderCache(int maxSize, int concurrency) {
+        if (maxSize <= 0) {
+            throw new QueryBuilderRuntimeException("Max size should be positive:" + maxSize);
+        }
+        if (concurrency <= 0) {
+            throw new QueryBuilderRuntimeException("Concurrency should be positive:" + concurrency);
+        }
+        int segmentsCount = Integer.highestOneBit(Math.min(concurrency, maxSize));
+        if (segmentsCount < Math.min(concurrency, maxSize)) {
+            segmentsCount <<= 1;
+        }
+        // segments can't be more than entries, otherwise the cache would hold more than max size.
+        while (segmentsCount > maxSize) {
+            segmentsCount >>= 1;
+        }
+        this.maxSize = maxSize;
+        this.segmentMask = segmentsCount - 1;
+        this.segments = new Segment[segmentsCount];
+        for (int i = 0; i < segmentsCount; i++) {
+            // first segments take the remainder, so capacities add up to max size.
+            int capacity = maxSize / segmentsCount + (i < maxSize % segmentsCount ? 1 : 0);
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    private Segment segmentFor(QueryShape shape) {
+        long hash = shape.getHash();
+        int spread = (int) (hash ^ (hash >>> 32));
+        spread ^= spread >>> 16;
+        return segments[spread & segmentMask];
+    }
+
+    /**
+     * @param shape
+     * @return cached query string, null when not cached.
+     */
+    public String get(QueryShape shape) {
+        Segment segment = segmentFor(shape);
+        String query;
+        synchronized (segment) {
+            query = segment.get(shape);
+        }
+        (query != null ? hits : misses).incrementAndGet();
+        return query;
+    }
+
+    /**
+     * Caches the query string of the given shape, evicting the least recently used query of its segment when full.
+     *
+     * @param shape
+     * @param query
+     */
+    public void put(QueryShape shape, String query) {
+        Segment segment = segmentFor(shape);
+        synchronized (segment) {
+            segment.put(shape, query);
+        }
+    }
+
+    /**
+     * @return number of cached queries.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Removes all the cached queries, counters are not changed.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RenderCache{" +
+                "size=" + size() +
+                ", maxSize=" + maxSize +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    /**
+     * Access ordered map, guarded by its own monitor.
+     */
+    private final class Segment extends LinkedHashMap<QueryShape, String> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<QueryShape, String> eldest) {
+            if (size() > capacity) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+/**
+ * Holds the {@link RenderCache} shared by all the builders. There is no cache by default, so every build renders
+ * the query string.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class RenderCaches {
+    private static volatile RenderCache cache;
+
+    private RenderCaches() {
+    }
+
+    /**
+     * @return current {@link RenderCache}, null when caching is disabled.
+     */
+    public static RenderCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the cache for all the builders, null disables caching.
+     *
+     * @param renderCache
+     */
+    public static void setCache(RenderCache renderCache) {
+        cache = renderCache;
+    }
+}
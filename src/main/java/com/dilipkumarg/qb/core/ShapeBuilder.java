@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.Arrays;
+
+import com.dilipkumarg.qb.models.DerivedTable;
+import com.dilipkumarg.qb.models.SqlTable;
+
+/**
+ * Collects the parts of a {@link QueryShape}. Parts should be immutable objects with value based equals, like
+ * {@link com.dilipkumarg.qb.models.TableColumn}, {@link com.dilipkumarg.qb.models.SqlTable} and enums.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class ShapeBuilder {
+    private static final ThreadLocal<ShapeBuilder> THREAD_LOCAL = new ThreadLocal<ShapeBuilder>() {
+        @Override
+        protected ShapeBuilder initialValue() {
+            return new ShapeBuilder();
+        }
+    };
+
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long MULTIPLIER = 0x100000001b3L;
+
+    private Object[] parts;
+    private int size;
+    private long hash;
+
+    public ShapeBuilder() {
+        parts = new Object[16];
+        hash = SEED;
+    }
+
+    /**
+     * Returns the builder of current thread after clearing its previous parts.
+     *
+     * @return {@link ShapeBuilder} of current thread.
+     */
+    static ShapeBuilder threadLocal() {
+        ShapeBuilder shape = THREAD_LOCAL.get();
+        shape.reset();
+        return shape;
+    }
+
+    private void reset() {
+        Arrays.fill(parts, 0, size, null);
+        size = 0;
+        hash = SEED;
+    }
+
+    /**
+     * @param part
+     * @return current {@link ShapeBuilder}.
+     */
+    public ShapeBuilder add(Object part) {
+        if (size == parts.length) {
+            parts = Arrays.copyOf(parts, size << 1);
+        }
+        parts[size++] = part;
+        hash = (hash ^ (part != null ? part.hashCode() : 0)) * MULTIPLIER;
+        return this;
+    }
+
+    public ShapeBuilder add(int part) {
+        return add(Integer.valueOf(part));
+    }
+
+    public ShapeBuilder add(boolean part) {
+        return add(Boolean.valueOf(part));
+    }
+
+    /**
+     * Adds the table, {@link DerivedTable} is added with the fingerprint of its subquery as it can be changed.
+     *
+     * @param table
+     * @return current {@link ShapeBuilder}.
+     */
+    public ShapeBuilder addTable(SqlTable table) {
+        if (table instanceof DerivedTable) {
+            ((DerivedTable) table).addShape(this);
+            return this;
+        }
+        return add(table);
+    }
+
+    /**
+     * @return {@link QueryShape} of the added parts.
+     */
+    public QueryShape build() {
+        return new QueryShape(hash, Arrays.copyOf(parts, size), size);
+    }
+
+    /**
+     * @return {@link QueryShape} sharing the parts of this builder, valid only until the builder is changed. Used to
+     * look up a cache without copying the parts.
+     */
+    QueryShape probe() {
+        return new QueryShape(hash, parts, size);
+    }
+}
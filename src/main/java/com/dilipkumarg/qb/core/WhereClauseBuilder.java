@@ -14,9 +14,9 @@
  */
 package com.dilipkumarg.qb.core;
 
+import com.dilipkumarg.qb.models.Condition;
 import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.TableColumn;
-import com.dilipkumarg.qb.models.WhereCondition;
 
 /**
  * @author Dilip Kumar.
@@ -34,12 +34,12 @@ public interface WhereClauseBuilder<T extends WhereClauseBuilder<T>> {
     T where(TableColumn column, Object value);
 
     /**
-     * Adds the given {@link WhereCondition} to the builder.
+     * Adds the given {@link Condition}s to the builder, they are joined with AND.
      *
      * @param conditions
      * @return {@link WhereClauseBuilder}.
      */
-    T where(WhereCondition... conditions);
+    T where(Condition... conditions);
 
     /**
      * Generates the {@link SqlQuery} for given {@link com.dilipkumarg.qb.models.WhereCondition}. If there is no
@@ -48,4 +48,24 @@ public interface WhereClauseBuilder<T extends WhereClauseBuilder<T>> {
      * @return {@link SqlQuery}.
      */
     SqlQuery buildWhere();
+
+    /**
+     * Renders the where clause prefixed with a space into the given {@link QueryRenderer}. Renders nothing when
+     * there are no conditions.
+     *
+     * @param renderer
+     */
+    void renderWhere(QueryRenderer renderer);
+
+    /**
+     * Adds the structure of the where clause to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    void addWhereShape(ShapeBuilder shape);
+
+    /**
+     * Removes all the conditions.
+     */
+    void clearWhere();
 }
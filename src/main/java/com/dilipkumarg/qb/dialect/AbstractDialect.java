@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import com.dilipkumarg.qb.core.QueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+
+/**
+ * Base {@link Dialect}, renders <code>LIMIT ? OFFSET ?</code> and TRUE/FALSE literals. Identifiers are quoted only
+ * when enabled, as quoting changes the case sensitivity of names in most of the databases.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public abstract class AbstractDialect implements Dialect {
+    protected static final String LIMIT = " LIMIT ";
+    protected static final String OFFSET = " OFFSET ";
+    protected static final String ROWS = " ROWS";
+    protected static final String FETCH_NEXT = " FETCH NEXT ";
+    protected static final String ROWS_ONLY = " ROWS ONLY";
+
+    private final String name;
+    private final IdentifierQuote identifierQuote;
+
+    /**
+     * @param name
+     * @param quote            quoting style of the database.
+     * @param quoteIdentifiers true to quote table, alias and column names.
+     */
+    protected AbstractDialect(String name, IdentifierQuote quote, boolean quoteIdentifiers) {
+        this.name = name;
+        this.identifierQuote = quoteIdentifiers ? quote : IdentifierQuote.NONE;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public IdentifierQuote getIdentifierQuote() {
+        return identifierQuote;
+    }
+
+    @Override
+    public String getBooleanLiteral(boolean value) {
+        return value ? "TRUE" : "FALSE";
+    }
+
+    @Override
+    public void renderSelectLimit(QueryRenderer renderer, Integer limit, Integer offset) {
+        // row limit is rendered at the end of query.
+    }
+
+    @Override
+    public void renderLimit(QueryRenderer renderer, Integer limit, Integer offset, boolean ordered) {
+        if (limit != null) {
+            renderer.append(LIMIT).append(QueryBuilder.PLACE_HOLDER).addArgument(limit);
+        }
+        if (offset != null) {
+            renderer.append(OFFSET).append(QueryBuilder.PLACE_HOLDER).addArgument(offset);
+        }
+    }
+
+    @Override
+    public UpdateJoinStyle getUpdateJoinStyle() {
+        return UpdateJoinStyle.FROM;
+    }
+
+    @Override
+    public UpsertStyle getUpsertStyle() {
+        return UpsertStyle.MERGE;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * Renders the standard <code> OFFSET ? ROWS FETCH NEXT ? ROWS ONLY</code>.
+     */
+    protected void renderOffsetFetch(QueryRenderer renderer, Integer limit, Integer offset) {
+        if (offset != null) {
+            renderer.append(OFFSET).append(QueryBuilder.PLACE_HOLDER).addArgument(offset).append(ROWS);
+        }
+        if (limit != null) {
+            renderer.append(FETCH_NEXT).append(QueryBuilder.PLACE_HOLDER).addArgument(limit).append(ROWS_ONLY);
+        }
+    }
+
+    /**
+     * Dialects of same type and identifier quote render same queries, so they are equal.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AbstractDialect that = (AbstractDialect) o;
+
+        return identifierQuote == that.identifierQuote;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + identifierQuote.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
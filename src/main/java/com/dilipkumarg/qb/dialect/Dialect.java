@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+
+/**
+ * Renders the database specific parts of a query, i.e row limiting, identifier quoting and boolean literals.
+ * Implementations are stateless and can be shared between builders and threads.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public interface Dialect {
+
+    /**
+     * @return name of the database.
+     */
+    String getName();
+
+    /**
+     * @return quoting used for table, alias and column names, {@link IdentifierQuote#NONE} when disabled.
+     */
+    IdentifierQuote getIdentifierQuote();
+
+    /**
+     * @param value
+     * @return literal for the given boolean value, eg. TRUE or 1.
+     */
+    String getBooleanLiteral(boolean value);
+
+    /**
+     * Renders the row limit part coming right after <code>SELECT [DISTINCT] </code>, eg. <code>TOP (?) </code>.
+     * Limit and offset are passed as arguments.
+     *
+     * @param renderer
+     * @param limit    null when not limited.
+     * @param offset   null when no offset.
+     */
+    void renderSelectLimit(QueryRenderer renderer, Integer limit, Integer offset);
+
+    /**
+     * Renders the row limit part at the end of the query, prefixed with a space, eg. <code> LIMIT ? OFFSET ?</code>.
+     * Limit and offset are passed as arguments.
+     *
+     * @param renderer
+     * @param limit    null when not limited.
+     * @param offset   null when no offset.
+     * @param ordered  true if the query has order by clause.
+     */
+    void renderLimit(QueryRenderer renderer, Integer limit, Integer offset, boolean ordered);
+
+    /**
+     * @return form of the update statements joined with other tables.
+     */
+    UpdateJoinStyle getUpdateJoinStyle();
+
+    /**
+     * @return form of the insert statements updating existing rows.
+     */
+    UpsertStyle getUpsertStyle();
+
+    /**
+     * @return true if rows can be compared as row values, eg. <code>(a, b) &gt; (?, ?)</code>. SQL Server and Oracle
+     * don't support it.
+     */
+    boolean supportsRowValueComparison();
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+/**
+ * Shared instances of the built in {@link Dialect}s, without identifier quoting.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class Dialects {
+    public static final Dialect GENERIC = new GenericDialect();
+    public static final Dialect POSTGRESQL = new PostgreSqlDialect();
+    public static final Dialect MYSQL = new MySqlDialect();
+    public static final Dialect H2 = new H2Dialect();
+    public static final Dialect SQL_SERVER = new SqlServerDialect();
+    public static final Dialect ORACLE = new OracleDialect();
+
+    private Dialects() {
+    }
+}
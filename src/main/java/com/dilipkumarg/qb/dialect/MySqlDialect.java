@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import com.dilipkumarg.qb.core.QueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+
+/**
+ * MySQL {@link Dialect}, renders <code>LIMIT ? OFFSET ?</code> and back tick quoted names when quoting enabled.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class MySqlDialect extends AbstractDialect {
+    // MySQL has no OFFSET without LIMIT, maximum row count is the documented work around.
+    private static final String NO_LIMIT = " LIMIT 18446744073709551615";
+
+    public MySqlDialect() {
+        this(false);
+    }
+
+    public MySqlDialect(boolean quoteIdentifiers) {
+        super("MySQL", IdentifierQuote.BACKTICK, quoteIdentifiers);
+    }
+
+    @Override
+    public void renderLimit(QueryRenderer renderer, Integer limit, Integer offset, boolean ordered) {
+        if (limit == null && offset != null) {
+            renderer.append(NO_LIMIT).append(OFFSET).append(QueryBuilder.PLACE_HOLDER).addArgument(offset);
+        } else {
+            super.renderLimit(renderer, limit, offset, ordered);
+        }
+    }
+
+    @Override
+    public UpdateJoinStyle getUpdateJoinStyle() {
+        return UpdateJoinStyle.JOIN;
+    }
+
+    @Override
+    public UpsertStyle getUpsertStyle() {
+        return UpsertStyle.ON_DUPLICATE_KEY;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+
+/**
+ * Oracle 12c+ {@link Dialect}, renders <code>OFFSET ? ROWS FETCH NEXT ? ROWS ONLY</code>, 1 and 0 for booleans
+ * and double quoted names when quoting enabled.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class OracleDialect extends AbstractDialect {
+
+    public OracleDialect() {
+        this(false);
+    }
+
+    public OracleDialect(boolean quoteIdentifiers) {
+        super("Oracle", IdentifierQuote.ANSI, quoteIdentifiers);
+    }
+
+    @Override
+    public String getBooleanLiteral(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    @Override
+    public void renderLimit(QueryRenderer renderer, Integer limit, Integer offset, boolean ordered) {
+        renderOffsetFetch(renderer, limit, offset);
+    }
+
+    @Override
+    public UpdateJoinStyle getUpdateJoinStyle() {
+        return UpdateJoinStyle.UNSUPPORTED;
+    }
+
+    @Override
+    public UpsertStyle getUpsertStyle() {
+        return UpsertStyle.MERGE_FROM_DUAL;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.models.IdentifierQuote;
+
+/**
+ * SQL Server {@link Dialect}. Limit without offset is rendered as <code>SELECT TOP (?)</code>, with offset it uses
+ * <code>OFFSET ? ROWS FETCH NEXT ? ROWS ONLY</code> which requires an order by clause, so
+ * <code>ORDER BY (SELECT NULL)</code> is added for unordered queries. Booleans are rendered as 1 and 0 and names are
+ * quoted with square brackets when quoting enabled.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class SqlServerDialect extends AbstractDialect {
+    private static final String TOP = "TOP (?) ";
+    private static final String NO_ORDER = " ORDER BY (SELECT NULL)";
+
+    public SqlServerDialect() {
+        this(false);
+    }
+
+    public SqlServerDialect(boolean quoteIdentifiers) {
+        super("SQL Server", IdentifierQuote.BRACKET, quoteIdentifiers);
+    }
+
+    @Override
+    public String getBooleanLiteral(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    @Override
+    public void renderSelectLimit(QueryRenderer renderer, Integer limit, Integer offset) {
+        if (limit != null && offset == null) {
+            renderer.append(TOP).addArgument(limit);
+        }
+    }
+
+    @Override
+    public void renderLimit(QueryRenderer renderer, Integer limit, Integer offset, boolean ordered) {
+        if (offset != null) {
+            if (!ordered) {
+                renderer.append(NO_ORDER);
+            }
+            renderOffsetFetch(renderer, limit, offset);
+        }
+    }
+
+    @Override
+    public UpdateJoinStyle getUpdateJoinStyle() {
+        return UpdateJoinStyle.FROM_JOIN;
+    }
+
+    @Override
+    public UpsertStyle getUpsertStyle() {
+        return UpsertStyle.MERGE_TERMINATED;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+/**
+ * Form of an update statement joined with other tables, see {@link Dialect#getUpdateJoinStyle()}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public enum UpdateJoinStyle {
+    /**
+     * <code>UPDATE PERSON person SET NAME=? FROM ADDRESS address WHERE person.ID = address.PERSON_ID</code>, join
+     * conditions are moved to the where clause so only inner joins are allowed. PostgreSQL.
+     */
+    FROM,
+    /**
+     * <code>UPDATE PERSON person INNER JOIN ADDRESS address ON (...) SET person.NAME=? WHERE ...</code>. MySQL.
+     */
+    JOIN,
+    /**
+     * <code>UPDATE person SET NAME=? FROM PERSON person INNER JOIN ADDRESS address ON (...) WHERE ...</code>. SQL
+     * Server.
+     */
+    FROM_JOIN,
+    /**
+     * Joined updates are not supported.
+     */
+    UNSUPPORTED
+}
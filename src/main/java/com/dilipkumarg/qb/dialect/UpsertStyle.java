@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+/**
+ * Form of an insert statement updating the rows which already exist, see {@link Dialect#getUpsertStyle()}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public enum UpsertStyle {
+    /**
+     * <code>INSERT INTO PERSON (ID,NAME) VALUES (?,?) ON CONFLICT (ID) DO UPDATE SET NAME=EXCLUDED.NAME</code>.
+     * PostgreSQL.
+     */
+    ON_CONFLICT,
+    /**
+     * <code>INSERT INTO PERSON (ID,NAME) VALUES (?,?) ON DUPLICATE KEY UPDATE NAME=VALUES(NAME)</code>, conflict
+     * columns aren't rendered as any unique key of the table triggers the update. MySQL.
+     */
+    ON_DUPLICATE_KEY,
+    /**
+     * Standard <code>MERGE INTO PERSON person USING (VALUES (?,?)) src (ID,NAME) ON (person.ID = src.ID) WHEN
+     * MATCHED THEN UPDATE SET NAME=src.NAME WHEN NOT MATCHED THEN INSERT (ID,NAME) VALUES (src.ID,src.NAME)</code>.
+     */
+    MERGE,
+    /**
+     * {@link #MERGE} terminated with a semicolon, which is mandatory for merge statements in SQL Server.
+     */
+    MERGE_TERMINATED,
+    /**
+     * {@link #MERGE} with the rows selected from dual, <code>USING (SELECT ? ID,? NAME FROM DUAL UNION ALL SELECT
+     * ?,? FROM DUAL) src</code>. Oracle.
+     */
+    MERGE_FROM_DUAL
+}
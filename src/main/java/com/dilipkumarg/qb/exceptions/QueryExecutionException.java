@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.exceptions;
+
+import java.sql.SQLException;
+
+/**
+ * This exception thrown when a query fails on the database, wraps the {@link SQLException} thrown by the driver.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class QueryExecutionException extends QueryBuilderRuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String query;
+
+    public QueryExecutionException(String query, SQLException cause) {
+        super("Failed to execute query:" + query, cause);
+        this.query = query;
+    }
+
+    /**
+     * @return query which failed.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return {@link SQLException} thrown by the driver.
+     */
+    public SQLException getSQLException() {
+        return (SQLException) getCause();
+    }
+}
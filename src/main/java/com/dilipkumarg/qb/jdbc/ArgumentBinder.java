@@ -0,0 +1,209 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.ColumnType;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+/**
+ * Binds query arguments to a {@link PreparedStatement} with the setter of their type, eg.
+ * {@link PreparedStatement#setString(int, String)} for strings. Drivers handle {@link PreparedStatement#setObject(int,
+ * Object)} by inspecting the value, typed setters skip that and let the driver use its fast path. Types without a
+ * dedicated setter fall back to setObject. Primitive arguments of a {@link SqlQuery} are bound without boxing.
+ * Parameter types for nulls are looked up once per statement, on the first null.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class ArgumentBinder {
+
+    private ArgumentBinder() {
+    }
+
+    /**
+     * Binds the arguments of the query, primitive ones with their primitive setters.
+     *
+     * @param statement
+     * @param query
+     * @throws SQLException
+     */
+    public static void bind(PreparedStatement statement, SqlQuery query) throws SQLException {
+        NullTypes nullTypes = new NullTypes(statement);
+        int count = query.getArgumentsCount();
+        for (int i = 0; i < count; i++) {
+            ColumnType type = query.getArgumentType(i);
+            if (type.isPrimitive()) {
+                bind(statement, i + 1, type, query.getArgumentBits(i));
+            } else {
+                bind(statement, i + 1, query.getArgument(i), nullTypes);
+            }
+        }
+    }
+
+    /**
+     * Binds the primitive value to the place holder at given index.
+     *
+     * @param statement
+     * @param index     one based index of the place holder.
+     * @param type      primitive {@link ColumnType}.
+     * @param bits      raw bits of the value.
+     * @throws SQLException
+     */
+    public static void bind(PreparedStatement statement, int index, ColumnType type, long bits) throws SQLException {
+        switch (type) {
+            case INT:
+                statement.setInt(index, (int) bits);
+                break;
+            case LONG:
+                statement.setLong(index, bits);
+                break;
+            case DOUBLE:
+                statement.setDouble(index, Double.longBitsToDouble(bits));
+                break;
+            default:
+                throw new QueryBuilderRuntimeException(type + " is not a primitive type");
+        }
+    }
+
+    /**
+     * Binds the arguments to the place holders in the same order.
+     *
+     * @param statement
+     * @param args
+     * @throws SQLException
+     */
+    public static void bind(PreparedStatement statement, Object[] args) throws SQLException {
+        bind(statement, args, new NullTypes(statement));
+    }
+
+    /**
+     * Binds each argument array and adds it to the batch of the statement.
+     *
+     * @param statement
+     * @param batchArgs
+     * @throws SQLException
+     */
+    public static void addBatch(PreparedStatement statement, List<Object[]> batchArgs) throws SQLException {
+        NullTypes nullTypes = new NullTypes(statement);
+        for (Object[] args : batchArgs) {
+            bind(statement, args, nullTypes);
+            statement.addBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] args, NullTypes nullTypes) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            bind(statement, i + 1, args[i], nullTypes);
+        }
+    }
+
+    /**
+     * Binds the value to the place holder at given index.
+     *
+     * @param statement
+     * @param index     one based index of the place holder.
+     * @param value
+     * @throws SQLException
+     */
+    public static void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        bind(statement, index, value, new NullTypes(statement));
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value, NullTypes nullTypes)
+            throws SQLException {
+        if (value == null) {
+            int type = nullTypes.get(index);
+            if (type == Types.NULL) {
+                statement.setObject(index, null);
+            } else {
+                statement.setNull(index, type);
+            }
+        } else if (value instanceof String) {
+            statement.setString(index, (String) value);
+        } else if (value instanceof Integer) {
+            statement.setInt(index, (Integer) value);
+        } else if (value instanceof Long) {
+            statement.setLong(index, (Long) value);
+        } else if (value instanceof Boolean) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (value instanceof Double) {
+            statement.setDouble(index, (Double) value);
+        } else if (value instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        } else if (value instanceof Timestamp) {
+            statement.setTimestamp(index, (Timestamp) value);
+        } else if (value instanceof Date) {
+            statement.setDate(index, (Date) value);
+        } else if (value instanceof Time) {
+            statement.setTime(index, (Time) value);
+        } else if (value instanceof java.util.Date) {
+            statement.setTimestamp(index, new Timestamp(((java.util.Date) value).getTime()));
+        } else if (value instanceof Float) {
+            statement.setFloat(index, (Float) value);
+        } else if (value instanceof Short) {
+            statement.setShort(index, (Short) value);
+        } else if (value instanceof Byte) {
+            statement.setByte(index, (Byte) value);
+        } else if (value instanceof byte[]) {
+            statement.setBytes(index, (byte[]) value);
+        } else if (value instanceof Enum) {
+            statement.setString(index, ((Enum<?>) value).name());
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    /**
+     * Parameter types of a statement for binding nulls, as drivers like Oracle reject {@link Types#NULL}.
+     * {@link ParameterMetaData} is fetched on the first null, drivers which don't report it get {@link Types#NULL}
+     * and nulls are bound with <code>setObject(index, null)</code>.
+     */
+    private static final class NullTypes {
+        private final PreparedStatement statement;
+        private ParameterMetaData metaData;
+        private boolean unsupported;
+
+        NullTypes(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        int get(int index) {
+            if (unsupported) {
+                return Types.NULL;
+            }
+            try {
+                if (metaData == null) {
+                    metaData = statement.getParameterMetaData();
+                }
+                return metaData.getParameterType(index);
+            } catch (SQLException e) {
+                // parameter metadata isn't supported by every driver.
+                unsupported = true;
+                return Types.NULL;
+            }
+        }
+    }
+}
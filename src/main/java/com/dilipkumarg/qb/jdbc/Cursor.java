@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.exceptions.QueryExecutionException;
+
+/**
+ * Lazily mapped rows of a query, created by {@link QueryExecutor#cursor(com.dilipkumarg.qb.models.SqlQuery,
+ * RowMapper, int)}. A row is read from the {@link ResultSet} only when it is asked for, so the driver fetches the
+ * next block of rows only as fast as the consumer takes them, and only one block is held in memory.
+ * <p/>
+ * The cursor owns its statement, it is closed when the last row is read, when reading fails or by {@link #close()}.
+ * Cursors which may not be read till the end should be closed, eg. with try-with-resources. Like the connection, it
+ * is not thread safe.
+ * <pre>
+ *     try (Cursor&lt;Person&gt; persons = executor.cursor(query, mapper, 500)) {
+ *         while (persons.hasNext()) {
+ *             export(persons.next());
+ *         }
+ *     }
+ * </pre>
+ *
+ * @param <T> type of the mapped rows.
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class Cursor<T> implements Iterator<T>, Closeable {
+    private final String query;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private int rowNum;
+    private T next;
+    private boolean fetched;
+    private boolean closed;
+
+    Cursor(String query, PreparedStatement statement, ResultSet resultSet, RowMapper<T> mapper) {
+        this.query = query;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+        this.closed = resultSet == null;
+    }
+
+    /**
+     * @return cursor without any rows, for queries which aren't executed.
+     */
+    static <T> Cursor<T> empty() {
+        return new Cursor<T>(null, null, null, null);
+    }
+
+    /**
+     * Cursor is closed when reading or mapping the row fails, exceptions of the mapper are rethrown as is.
+     *
+     * @throws QueryExecutionException when reading the row fails.
+     */
+    @Override
+    public boolean hasNext() {
+        if (!fetched && !closed) {
+            try {
+                if (resultSet.next()) {
+                    next = mapper.mapRow(resultSet, rowNum++);
+                    fetched = true;
+                } else {
+                    close();
+                }
+            } catch (SQLException e) {
+                closeQuietly();
+                throw new QueryExecutionException(query, e);
+            } catch (RuntimeException e) {
+                // eg. a failing mapper, the cursor may not be closed by the caller after it.
+                closeQuietly();
+                throw e;
+            } catch (Error e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+        return fetched;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T row = next;
+        next = null;
+        fetched = false;
+        return row;
+    }
+
+    /**
+     * @return {@link Stream} of the remaining rows, closing the stream closes the cursor.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        close();
+                    }
+                });
+    }
+
+    /**
+     * @return true if the cursor is closed, either explicitly or after the last row.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the result set and the statement, closing a closed cursor has no effect.
+     *
+     * @throws QueryBuilderRuntimeException when the statement fails to close.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                resultSet.close();
+            } finally {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            throw new QueryBuilderRuntimeException("Failed to close the cursor of query:" + query, e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (QueryBuilderRuntimeException e) {
+            // failure of the query is more relevant.
+        }
+    }
+}
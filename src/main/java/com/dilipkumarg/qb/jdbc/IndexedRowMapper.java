@@ -0,0 +1,328 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.SqlExpression;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * {@link RowMapper} setting the columns selected by a {@link SelectQueryBuilder} on new instances of a class. Setters
+ * are resolved once, when the mapper is built, into {@link MethodHandle}s and every column is read by its index with
+ * the {@link ResultSet} getter of the property type, so mapping a row doesn't look up names or box primitive values.
+ * <p/>
+ * A {@link TableColumn} is set on the property named after the column in camel case, eg. <code>LAST_NAME</code> on
+ * <code>lastName</code>, through a public setter or else the field. Other properties and other selected expressions,
+ * like aggregates, are mapped with {@link Builder#map(SqlExpression, String)}; expressions which aren't mapped are
+ * skipped. The mapper is immutable, it can be shared between threads and reused for queries selecting the same
+ * columns.
+ *
+ * @param <T> type of the mapped objects, should have a no argument constructor.
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class IndexedRowMapper<T> implements RowMapper<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final ColumnSetter[] setters;
+
+    private IndexedRowMapper(Class<T> type, MethodHandle constructor, ColumnSetter[] setters) {
+        this.type = type;
+        this.constructor = constructor;
+        this.setters = setters;
+    }
+
+    /**
+     * Creates mapper for the columns selected by the given query, see {@link IndexedRowMapper}.
+     *
+     * @param type
+     * @param query listing the selected columns.
+     * @return new {@link IndexedRowMapper}.
+     */
+    public static <T> IndexedRowMapper<T> of(Class<T> type, SelectQueryBuilder query) {
+        return builder(type, query).build();
+    }
+
+    /**
+     * @param type
+     * @param query listing the selected columns.
+     * @return {@link Builder} to map the columns to other properties.
+     */
+    public static <T> Builder<T> builder(Class<T> type, SelectQueryBuilder query) {
+        return new Builder<T>(type, query);
+    }
+
+    /**
+     * Converts a column name to the property name, eg. <code>LAST_NAME</code> to <code>lastName</code>. Names which
+     * aren't in upper case are only changed to start with a lower case letter.
+     *
+     * @param columnName
+     * @return property name.
+     */
+    static String propertyName(String columnName) {
+        if (!columnName.equals(columnName.toUpperCase())) {
+            return Character.toLowerCase(columnName.charAt(0)) + columnName.substring(1);
+        }
+        StringBuilder builder = new StringBuilder(columnName.length());
+        boolean upper = false;
+        for (int i = 0; i < columnName.length(); i++) {
+            char c = columnName.charAt(i);
+            if (c == '_') {
+                upper = builder.length() > 0;
+            } else {
+                builder.append(upper ? c : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        try {
+            Object entity = (Object) constructor.invokeExact();
+            for (ColumnSetter setter : setters) {
+                setter.set(entity, resultSet);
+            }
+            return type.cast(entity);
+        } catch (SQLException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable th) {
+            throw new QueryBuilderRuntimeException("Failed to map row " + rowNum + " to " + type.getName(), th);
+        }
+    }
+
+    /**
+     * Maps the properties of {@link IndexedRowMapper}.
+     *
+     * @param <T>
+     */
+    public static final class Builder<T> {
+        private final Class<T> type;
+        private final SelectQueryBuilder query;
+        private final Map<SqlExpression, String> properties;
+
+        private Builder(Class<T> type, SelectQueryBuilder query) {
+            this.type = type;
+            this.query = query;
+            this.properties = Maps.newHashMap();
+        }
+
+        /**
+         * Sets the given selected expression on the given property in place of the default one.
+         *
+         * @param expression selected by the query.
+         * @param property   name of the setter without <code>set</code> prefix or the field.
+         * @return current {@link Builder} instance.
+         */
+        public Builder<T> map(SqlExpression expression, String property) {
+            properties.put(expression, property);
+            return this;
+        }
+
+        /**
+         * Resolves the setters of the columns selected by the query at this point.
+         *
+         * @return new {@link IndexedRowMapper}.
+         * @throws QueryBuilderRuntimeException if the query doesn't list the columns, or a property doesn't exist.
+         */
+        public IndexedRowMapper<T> build() {
+            List<SqlExpression> columns = query.getSelectedColumns();
+            if (columns.isEmpty()) {
+                throw new QueryBuilderRuntimeException("Query should list the selected columns to map them by index");
+            }
+            for (SqlExpression expression : properties.keySet()) {
+                if (!columns.contains(expression)) {
+                    throw new QueryBuilderRuntimeException("Mapped expression isn't selected:" + expression);
+                }
+            }
+            List<ColumnSetter> setters = Lists.newArrayList();
+            Set<String> mapped = Sets.newHashSet();
+            for (int i = 0; i < columns.size(); i++) {
+                SqlExpression expression = columns.get(i);
+                String property = properties.get(expression);
+                if (property == null && expression instanceof TableColumn) {
+                    property = propertyName(((TableColumn) expression).getFieldName());
+                }
+                if (property == null) {
+                    continue;
+                }
+                if (!mapped.add(property)) {
+                    throw new QueryBuilderRuntimeException("Property " + property + " is mapped by more than one " +
+                            "column, map the others explicitly");
+                }
+                setters.add(ColumnSetter.create(type, property, i + 1));
+            }
+            return new IndexedRowMapper<T>(type, constructor(type), setters.toArray(new ColumnSetter[setters.size()]));
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException e) {
+            throw new QueryBuilderRuntimeException(type.getName() + " doesn't have a no argument constructor", e);
+        } catch (IllegalAccessException e) {
+            throw new QueryBuilderRuntimeException("Constructor of " + type.getName() + " isn't accessible", e);
+        }
+    }
+
+    /**
+     * Getter of {@link ResultSet} used for a property type.
+     */
+    private enum ValueKind {
+        BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, BYTES, TIMESTAMP, OBJECT;
+
+        static ValueKind of(Class<?> type) {
+            if (type == boolean.class) {
+                return BOOLEAN;
+            } else if (type == byte.class) {
+                return BYTE;
+            } else if (type == short.class) {
+                return SHORT;
+            } else if (type == int.class) {
+                return INT;
+            } else if (type == long.class) {
+                return LONG;
+            } else if (type == float.class) {
+                return FLOAT;
+            } else if (type == double.class) {
+                return DOUBLE;
+            } else if (type == String.class) {
+                return STRING;
+            } else if (type == byte[].class) {
+                return BYTES;
+            } else if (type == java.util.Date.class || type == java.sql.Timestamp.class) {
+                return TIMESTAMP;
+            } else if (type.isPrimitive()) {
+                throw new QueryBuilderRuntimeException(type + " properties are not supported");
+            }
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Sets the column of one index on the entity, the setter is adapted to take an {@link Object} entity and the
+     * primitive value or an {@link Object} so it can be invoked exactly.
+     */
+    private static final class ColumnSetter {
+        private final int index;
+        private final ValueKind kind;
+        private final Class<?> valueType;
+        private final MethodHandle setter;
+
+        private ColumnSetter(int index, ValueKind kind, Class<?> valueType, MethodHandle setter) {
+            this.index = index;
+            this.kind = kind;
+            this.valueType = valueType;
+            // primitive values are passed without boxing.
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class,
+                    valueType.isPrimitive() ? valueType : Object.class));
+        }
+
+        static ColumnSetter create(Class<?> type, String property, int index) {
+            String setterName = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            try {
+                for (Method method : type.getMethods()) {
+                    if (method.getName().equals(setterName) && method.getParameterTypes().length == 1
+                            && !Modifier.isStatic(method.getModifiers())) {
+                        Class<?> valueType = method.getParameterTypes()[0];
+                        // public setter of a non public bean isn't accessible without it.
+                        method.setAccessible(true);
+                        return new ColumnSetter(index, ValueKind.of(valueType), valueType, LOOKUP.unreflect(method));
+                    }
+                }
+                for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                    for (Field field : current.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (field.getName().equals(property) && !Modifier.isStatic(modifiers)
+                                && !Modifier.isFinal(modifiers)) {
+                            field.setAccessible(true);
+                            return new ColumnSetter(index, ValueKind.of(field.getType()), field.getType(),
+                                    LOOKUP.unreflectSetter(field));
+                        }
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new QueryBuilderRuntimeException("Property " + property + " of " + type.getName() +
+                        " isn't accessible", e);
+            }
+            throw new QueryBuilderRuntimeException(type.getName() + " doesn't have a setter or field for property " +
+                    property);
+        }
+
+        void set(Object entity, ResultSet resultSet) throws Throwable {
+            switch (kind) {
+                case BOOLEAN:
+                    setter.invokeExact(entity, resultSet.getBoolean(index));
+                    break;
+                case BYTE:
+                    setter.invokeExact(entity, resultSet.getByte(index));
+                    break;
+                case SHORT:
+                    setter.invokeExact(entity, resultSet.getShort(index));
+                    break;
+                case INT:
+                    setter.invokeExact(entity, resultSet.getInt(index));
+                    break;
+                case LONG:
+                    setter.invokeExact(entity, resultSet.getLong(index));
+                    break;
+                case FLOAT:
+                    setter.invokeExact(entity, resultSet.getFloat(index));
+                    break;
+                case DOUBLE:
+                    setter.invokeExact(entity, resultSet.getDouble(index));
+                    break;
+                case STRING:
+                    setter.invokeExact(entity, (Object) resultSet.getString(index));
+                    break;
+                case BYTES:
+                    setter.invokeExact(entity, (Object) resultSet.getBytes(index));
+                    break;
+                case TIMESTAMP:
+                    setter.invokeExact(entity, (Object) resultSet.getTimestamp(index));
+                    break;
+                default:
+                    setter.invokeExact(entity, (Object) resultSet.getObject(index, valueType));
+            }
+        }
+    }
+}
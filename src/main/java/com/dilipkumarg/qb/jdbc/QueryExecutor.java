@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.dilipkumarg.qb.core.AbstractQueryBuilder;
+import com.dilipkumarg.qb.core.QueryBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.exceptions.QueryExecutionException;
+import com.dilipkumarg.qb.models.BatchSqlQuery;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.google.common.collect.Lists;
+
+/**
+ * Executes the built queries on one {@link Connection}. Statements are prepared once per query string and reused
+ * through a {@link StatementCache}, so the database parses a query only once per connection. Arguments are bound
+ * with {@link ArgumentBinder}. Large results can be read row by row with a {@link Cursor}.
+ * <p/>
+ * Executor doesn't manage the connection or transactions, {@link #close()} closes only the cached statements. Like
+ * the connection, it is not thread safe.
+ * <pre>
+ *     QueryExecutor executor = new QueryExecutor(connection);
+ *     List&lt;String&gt; names = executor.query(person.select().list(person.name).where(person.age.gt(18)),
+ *             nameMapper);
+ * </pre>
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class QueryExecutor implements Closeable {
+    private final StatementCache statements;
+
+    public QueryExecutor(Connection connection) {
+        this(new StatementCache(connection));
+    }
+
+    public QueryExecutor(StatementCache statements) {
+        this.statements = statements;
+    }
+
+    public StatementCache getStatements() {
+        return statements;
+    }
+
+    /**
+     * Executes the query and maps every row with given mapper.
+     *
+     * @param query
+     * @param mapper
+     * @param <T>
+     * @return mapped rows.
+     * @throws QueryExecutionException
+     */
+    public <T> List<T> query(SqlQuery query, RowMapper<T> mapper) {
+        try {
+            PreparedStatement statement = statements.prepare(query.getQuery());
+            ArgumentBinder.bind(statement, query);
+            ResultSet resultSet = statement.executeQuery();
+            try {
+                List<T> rows = Lists.newArrayList();
+                while (resultSet.next()) {
+                    rows.add(mapper.mapRow(resultSet, rows.size()));
+                }
+                return rows;
+            } finally {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            throw failed(query.getQuery(), e);
+        }
+    }
+
+    /**
+     * Builds and executes the query, queries which are {@link AbstractQueryBuilder#isProvablyEmpty()} aren't
+     * executed.
+     *
+     * @param builder
+     * @param mapper
+     * @return mapped rows.
+     * @throws QueryExecutionException
+     */
+    public <T> List<T> query(QueryBuilder builder, RowMapper<T> mapper) {
+        if (isProvablyEmpty(builder)) {
+            return Lists.newArrayList();
+        }
+        return query(builder.build(), mapper);
+    }
+
+    /**
+     * Executes the query and returns a {@link Cursor} mapping the rows as they are read, for results which shouldn't
+     * be held in memory at once. Query runs on its own forward only, read only statement, which isn't cached, so the
+     * cursor stays valid while the executor runs other queries.
+     * <p/>
+     * Fetch size is a hint to the driver, some of them need more to stream the rows: PostgreSQL fetches in blocks
+     * only when auto commit is off, MySQL streams only with {@link Integer#MIN_VALUE} fetch size.
+     *
+     * @param query
+     * @param mapper
+     * @param fetchSize number of rows fetched from the database at once, 0 for the driver default.
+     * @return {@link Cursor} of the mapped rows, should be closed if it isn't read till the end.
+     * @throws QueryExecutionException
+     */
+    public <T> Cursor<T> cursor(SqlQuery query, RowMapper<T> mapper, int fetchSize) {
+        PreparedStatement statement = null;
+        try {
+            statement = statements.getConnection().prepareStatement(query.getQuery(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            ArgumentBinder.bind(statement, query);
+            return new Cursor<T>(query.getQuery(), statement, statement.executeQuery(), mapper);
+        } catch (SQLException e) {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw new QueryExecutionException(query.getQuery(), e);
+        }
+    }
+
+    /**
+     * Builds the query and returns its {@link Cursor}, see {@link #cursor(SqlQuery, RowMapper, int)}. Queries which
+     * are {@link AbstractQueryBuilder#isProvablyEmpty()} aren't executed.
+     *
+     * @param builder
+     * @param mapper
+     * @param fetchSize number of rows fetched from the database at once, 0 for the driver default.
+     * @return {@link Cursor} of the mapped rows.
+     * @throws QueryExecutionException
+     */
+    public <T> Cursor<T> cursor(QueryBuilder builder, RowMapper<T> mapper, int fetchSize) {
+        if (isProvablyEmpty(builder)) {
+            return Cursor.empty();
+        }
+        return cursor(builder.build(), mapper, fetchSize);
+    }
+
+    /**
+     * Executes the insert, update or delete query.
+     *
+     * @param query
+     * @return number of affected rows.
+     * @throws QueryExecutionException
+     */
+    public int update(SqlQuery query) {
+        try {
+            PreparedStatement statement = statements.prepare(query.getQuery());
+            ArgumentBinder.bind(statement, query);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw failed(query.getQuery(), e);
+        }
+    }
+
+    /**
+     * Builds and executes the query, queries which are {@link AbstractQueryBuilder#isProvablyEmpty()} aren't
+     * executed.
+     *
+     * @param builder
+     * @return number of affected rows.
+     * @throws QueryExecutionException
+     */
+    public int update(QueryBuilder builder) {
+        if (isProvablyEmpty(builder)) {
+            return 0;
+        }
+        return update(builder.build());
+    }
+
+    private static boolean isProvablyEmpty(QueryBuilder builder) {
+        return builder instanceof AbstractQueryBuilder && ((AbstractQueryBuilder) builder).isProvablyEmpty();
+    }
+
+    /**
+     * Executes the query once for each argument array as a JDBC batch.
+     *
+     * @param query
+     * @return number of affected rows for each argument array.
+     * @throws QueryExecutionException
+     */
+    public int[] batch(BatchSqlQuery query) {
+        try {
+            PreparedStatement statement = statements.prepare(query.getQuery());
+            SQLException failure = null;
+            try {
+                ArgumentBinder.addBatch(statement, query.getBatchArgs());
+                return statement.executeBatch();
+            } catch (SQLException e) {
+                failure = e;
+                throw e;
+            } finally {
+                clearBatch(statement, failure);
+            }
+        } catch (SQLException e) {
+            throw failed(query.getQuery(), e);
+        }
+    }
+
+    /**
+     * Clears the batch, a failure while clearing is added to the failure of the batch rather than replacing it.
+     */
+    private static void clearBatch(PreparedStatement statement, SQLException failure) throws SQLException {
+        try {
+            statement.clearBatch();
+        } catch (SQLException e) {
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    private QueryExecutionException failed(String query, SQLException e) {
+        // statement may be left in an unknown state, so it is prepared again on next use.
+        statements.evict(query);
+        return new QueryExecutionException(query, e);
+    }
+
+    /**
+     * Closes the cached statements, connection is left open.
+     *
+     * @throws QueryBuilderRuntimeException when a statement fails to close.
+     */
+    @Override
+    public void close() {
+        try {
+            statements.close();
+        } catch (SQLException e) {
+            throw new QueryBuilderRuntimeException("Failed to close the statements", e);
+        }
+    }
+}
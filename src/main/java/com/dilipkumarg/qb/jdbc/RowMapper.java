@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object, it shouldn't move the cursor.
+ *
+ * @param <T> type of the mapped object.
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public interface RowMapper<T> {
+
+    /**
+     * @param resultSet positioned on the row to map.
+     * @param rowNum    zero based number of the row.
+     * @return mapped object.
+     * @throws SQLException
+     */
+    T mapRow(ResultSet resultSet, int rowNum) throws SQLException;
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+
+/**
+ * {@link PreparedStatement}s of one {@link Connection} keyed by query string. Least recently used statement is
+ * closed when the cache is full. Like the connection, it is not thread safe.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class StatementCache {
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final int maxSize;
+    private SQLException closeFailure;
+
+    public StatementCache(Connection connection) {
+        this(connection, DEFAULT_MAX_SIZE);
+    }
+
+    public StatementCache(Connection connection, int maxSize) {
+        if (maxSize < 1) {
+            // a statement evicted as soon as it is prepared would be handed back closed.
+            throw new QueryBuilderRuntimeException("Max size should be at least 1:" + maxSize);
+        }
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the cached statement of the query, prepares it when not cached.
+     *
+     * @param query
+     * @return {@link PreparedStatement} of the query.
+     * @throws SQLException
+     */
+    public PreparedStatement prepare(String query) throws SQLException {
+        PreparedStatement statement = statements.get(query);
+        if (statement == null) {
+            statement = connection.prepareStatement(query);
+            statements.put(query, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Removes and closes the statement of the query, eg. after it failed.
+     *
+     * @param query
+     */
+    public void evict(String query) {
+        PreparedStatement statement = statements.remove(query);
+        if (statement != null) {
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * @return number of cached statements.
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes all the cached statements, connection is not closed.
+     *
+     * @throws SQLException first failure while closing the statements.
+     */
+    public void close() throws SQLException {
+        Iterator<PreparedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+        SQLException failure = closeFailure;
+        closeFailure = null;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            if (closeFailure == null) {
+                closeFailure = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.metrics;
+
+/**
+ * Gets notified after every build of a {@link com.dilipkumarg.qb.core.AbstractQueryBuilder}. Register it with
+ * {@link BuildListeners#setListener(BuildListener)}. It is called on the building thread, so implementations should
+ * be thread safe and cheap.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public interface BuildListener {
+
+    /**
+     * @param builderType    class of the builder.
+     * @param durationNanos  time taken to build the query.
+     * @param queryLength    length of the rendered query.
+     * @param argumentsCount number of arguments of the query.
+     * @param fingerprint    hash of {@link com.dilipkumarg.qb.core.AbstractQueryBuilder#fingerprint()}, same for the
+     *                       queries differing only in values.
+     */
+    void queryBuilt(Class<?> builderType, long durationNanos, int queryLength, int argumentsCount,
+                    long fingerprint);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.metrics;
+
+/**
+ * Holds the {@link BuildListener} used by all the builders. Default is {@link #NOOP}, with which builders skip
+ * timing the builds altogether.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class BuildListeners {
+    public static final BuildListener NOOP = new BuildListener() {
+        @Override
+        public void queryBuilt(Class<?> builderType, long durationNanos, int queryLength, int argumentsCount,
+                               long fingerprint) {
+            // nothing to do.
+        }
+    };
+
+    private static volatile BuildListener listener = NOOP;
+
+    private BuildListeners() {
+    }
+
+    /**
+     * @return current {@link BuildListener}, never null.
+     */
+    public static BuildListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener for all the builders, null resets it to {@link #NOOP}.
+     *
+     * @param buildListener
+     */
+    public static void setListener(BuildListener buildListener) {
+        listener = buildListener != null ? buildListener : NOOP;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Build statistics of one builder type, collected by {@link HistogramBuildListener}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class BuildStats {
+    private final Histogram durationNanos;
+    private final Histogram queryLength;
+    private final Histogram argumentsCount;
+    private final ConcurrentMap<Long, ShapeStats> shapes;
+    private final int maxShapes;
+    private final AtomicLong untrackedShapes;
+
+    public BuildStats(int maxShapes) {
+        this.durationNanos = new Histogram();
+        this.queryLength = new Histogram();
+        this.argumentsCount = new Histogram();
+        this.shapes = Maps.newConcurrentMap();
+        this.maxShapes = maxShapes;
+        this.untrackedShapes = new AtomicLong();
+    }
+
+    void record(long duration, int length, int arguments, long fingerprint) {
+        durationNanos.record(duration);
+        queryLength.record(length);
+        argumentsCount.record(arguments);
+        ShapeStats shape = shapes.get(fingerprint);
+        if (shape == null) {
+            if (shapes.size() >= maxShapes) {
+                untrackedShapes.incrementAndGet();
+                return;
+            }
+            ShapeStats created = new ShapeStats();
+            shape = shapes.putIfAbsent(fingerprint, created);
+            if (shape == null) {
+                shape = created;
+            }
+        }
+        shape.record(length, arguments);
+    }
+
+    public Histogram getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Histogram getQueryLength() {
+        return queryLength;
+    }
+
+    public Histogram getArgumentsCount() {
+        return argumentsCount;
+    }
+
+    /**
+     * @return statistics per query shape fingerprint.
+     */
+    public Map<Long, ShapeStats> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * @return number of builds not tracked per shape, because of too many distinct shapes.
+     */
+    public long getUntrackedShapes() {
+        return untrackedShapes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BuildStats{" +
+                "durationNanos=" + durationNanos +
+                ", queryLength=" + queryLength +
+                ", argumentsCount=" + argumentsCount +
+                ", shapes=" + shapes.size() +
+                '}';
+    }
+
+    /**
+     * Statistics of one query shape.
+     */
+    public static class ShapeStats {
+        private final AtomicLong count = new AtomicLong();
+        private volatile int maxQueryLength;
+        private volatile int maxArgumentsCount;
+
+        void record(int length, int arguments) {
+            count.incrementAndGet();
+            // Approximate maximum is enough here, lost updates only happen under races.
+            if (length > maxQueryLength) {
+                maxQueryLength = length;
+            }
+            if (arguments > maxArgumentsCount) {
+                maxArgumentsCount = arguments;
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public int getMaxQueryLength() {
+            return maxQueryLength;
+        }
+
+        public int getMaxArgumentsCount() {
+            return maxArgumentsCount;
+        }
+
+        @Override
+        public String toString() {
+            return "ShapeStats{" +
+                    "count=" + getCount() +
+                    ", maxQueryLength=" + maxQueryLength +
+                    ", maxArgumentsCount=" + maxArgumentsCount +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+
+/**
+ * In memory {@link BuildListener}, keeps {@link BuildStats} per builder type.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class HistogramBuildListener implements BuildListener {
+    public static final int DEFAULT_MAX_SHAPES = 1024;
+
+    private final ConcurrentMap<Class<?>, BuildStats> stats;
+    private final int maxShapes;
+
+    public HistogramBuildListener() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * @param maxShapes maximum number of distinct query shapes tracked per builder type.
+     */
+    public HistogramBuildListener(int maxShapes) {
+        this.stats = Maps.newConcurrentMap();
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void queryBuilt(Class<?> builderType, long durationNanos, int queryLength, int argumentsCount,
+                           long fingerprint) {
+        getOrCreateStats(builderType).record(durationNanos, queryLength, argumentsCount, fingerprint);
+    }
+
+    private BuildStats getOrCreateStats(Class<?> builderType) {
+        BuildStats builderStats = stats.get(builderType);
+        if (builderStats == null) {
+            BuildStats created = new BuildStats(maxShapes);
+            builderStats = stats.putIfAbsent(builderType, created);
+            if (builderStats == null) {
+                builderStats = created;
+            }
+        }
+        return builderStats;
+    }
+
+    /**
+     * @param builderType
+     * @return {@link BuildStats} of the given builder type, null if nothing built yet.
+     */
+    public BuildStats getStats(Class<?> builderType) {
+        return stats.get(builderType);
+    }
+
+    /**
+     * @return {@link BuildStats} of all builder types.
+     */
+    public Map<Class<?>, BuildStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Clears all the statistics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+}
@@ -14,10 +14,16 @@
  */
 package com.dilipkumarg.qb.models;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dilipkumarg.qb.BatchInsertQueryBuilder;
 import com.dilipkumarg.qb.DeleteQueryBuilder;
 import com.dilipkumarg.qb.InsertQueryBuilder;
 import com.dilipkumarg.qb.SelectQueryBuilder;
 import com.dilipkumarg.qb.UpdateQueryBuilder;
+import com.dilipkumarg.qb.UpsertQueryBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
 
 /**
  * @author Dilip Kumar.
@@ -25,13 +31,29 @@ import com.dilipkumarg.qb.UpdateQueryBuilder;
  */
 public abstract class AbstractSqlTable implements SqlTable {
     private static final String AS = " ";
+    private static final int QUOTES = IdentifierQuote.values().length;
+    // Reusable builders of each thread by table, equal tables render the same and share the builders.
+    private static final ThreadLocal<Map<AbstractSqlTable, ReusableBuilders>> REUSABLE_BUILDERS =
+            new ThreadLocal<Map<AbstractSqlTable, ReusableBuilders>>() {
+                @Override
+                protected Map<AbstractSqlTable, ReusableBuilders> initialValue() {
+                    return new HashMap<AbstractSqlTable, ReusableBuilders>();
+                }
+            };
 
-    protected String tableName;
-    protected String tableAlias;
+    // Name and Alias are constants after construction, so their renderings are cached.
+    private final String tableName;
+    private final String tableAlias;
+    private final String tableNameWithAlias;
+    private final String[] quotedTableNames;
+    private final String[] quotedTableNamesWithAlias;
 
     protected AbstractSqlTable(String tableName, String tableAlias) {
         this.tableName = tableName;
         this.tableAlias = tableAlias;
+        this.tableNameWithAlias = tableName + AS + tableAlias;
+        this.quotedTableNames = new String[QUOTES];
+        this.quotedTableNamesWithAlias = new String[QUOTES];
     }
 
     public AbstractSqlTable(String tableName) {
@@ -39,24 +61,42 @@ public abstract class AbstractSqlTable implements SqlTable {
     }
 
 
+    /**
+     * Final, as the cached renderings are computed from the constructor arguments.
+     */
     @Override
-    public String getTableName() {
+    public final String getTableName() {
         return tableName;
     }
 
     @Override
-    public String getTableAlias() {
+    public final String getTableAlias() {
         return tableAlias;
     }
 
     @Override
     public String getTableNameWithAlias() {
-        return getTableName() + AS + getTableAlias();
+        return tableNameWithAlias;
     }
 
     @Override
     public String getTableName(boolean withAlias) {
-        return withAlias ? getTableNameWithAlias() : getTableName();
+        return withAlias ? tableNameWithAlias : tableName;
+    }
+
+    @Override
+    public String getTableName(boolean withAlias, IdentifierQuote quote) {
+        if (quote == IdentifierQuote.NONE) {
+            return getTableName(withAlias);
+        }
+        String[] cache = withAlias ? quotedTableNamesWithAlias : quotedTableNames;
+        // Racy caching is fine here, Strings are immutable and all the threads compute the same value.
+        String name = cache[quote.ordinal()];
+        if (name == null) {
+            name = withAlias ? quote.quote(tableName) + AS + quote.quote(tableAlias) : quote.quote(tableName);
+            cache[quote.ordinal()] = name;
+        }
+        return name;
     }
 
     @Override
@@ -64,6 +104,41 @@ public abstract class AbstractSqlTable implements SqlTable {
         return new TableColumn(fieldName, this);
     }
 
+    /**
+     * Creates new {@link TableColumn} of given {@link ColumnType}, use {@link #createIntColumn(String)},
+     * {@link #createLongColumn(String)} or {@link #createDoubleColumn(String)} for the primitive types.
+     *
+     * @param fieldName of the column.
+     * @param type
+     * @return new {@link TableColumn}.
+     */
+    public TableColumn createTableColumn(String fieldName, ColumnType type) {
+        if (type.isPrimitive()) {
+            throw new QueryBuilderRuntimeException(type + " columns should be created with their typed methods");
+        }
+        return new TableColumn(fieldName, this, type);
+    }
+
+    public TableColumn createStringColumn(String fieldName) {
+        return createTableColumn(fieldName, ColumnType.STRING);
+    }
+
+    public TableColumn createTimestampColumn(String fieldName) {
+        return createTableColumn(fieldName, ColumnType.TIMESTAMP);
+    }
+
+    public IntColumn createIntColumn(String fieldName) {
+        return new IntColumn(fieldName, this);
+    }
+
+    public LongColumn createLongColumn(String fieldName) {
+        return new LongColumn(fieldName, this);
+    }
+
+    public DoubleColumn createDoubleColumn(String fieldName) {
+        return new DoubleColumn(fieldName, this);
+    }
+
     /**
      * Creates new {@link com.dilipkumarg.qb.SelectQueryBuilder} for this {@link com.wavemaker.gateway
      * .commons.qb.models.SqlTable}
@@ -84,6 +159,24 @@ public abstract class AbstractSqlTable implements SqlTable {
         return new InsertQueryBuilder(this);
     }
 
+    /**
+     * Creates new {@link com.dilipkumarg.qb.BatchInsertQueryBuilder} for this {@link SqlTable}
+     *
+     * @return {@link com.dilipkumarg.qb.BatchInsertQueryBuilder} object.
+     */
+    public BatchInsertQueryBuilder batchInsert() {
+        return new BatchInsertQueryBuilder(this);
+    }
+
+    /**
+     * Creates new {@link com.dilipkumarg.qb.UpsertQueryBuilder} for this {@link SqlTable}
+     *
+     * @return {@link com.dilipkumarg.qb.UpsertQueryBuilder} object.
+     */
+    public UpsertQueryBuilder upsert() {
+        return new UpsertQueryBuilder(this);
+    }
+
     /**
      * Creates new {@link com.dilipkumarg.qb.UpdateQueryBuilder} for this {@link com.wavemaker.gateway
      * .commons.qb.models.SqlTable}
@@ -104,6 +197,78 @@ public abstract class AbstractSqlTable implements SqlTable {
         return new DeleteQueryBuilder(this);
     }
 
+    private ReusableBuilders getReusableBuilders() {
+        Map<AbstractSqlTable, ReusableBuilders> tables = REUSABLE_BUILDERS.get();
+        ReusableBuilders builders = tables.get(this);
+        if (builders == null) {
+            builders = new ReusableBuilders();
+            tables.put(this, builders);
+        }
+        return builders;
+    }
+
+    /**
+     * Returns the {@link SelectQueryBuilder} of current thread for this table after {@link
+     * SelectQueryBuilder#reset()}, so the builder isn't allocated for every query. The builder is valid only until
+     * the next call on the same thread, it shouldn't be kept or shared with other threads. Tables with the same
+     * name and alias share the builders, the builders of a thread live as long as the thread.
+     *
+     * @return reset {@link SelectQueryBuilder}.
+     */
+    public SelectQueryBuilder reusableSelect() {
+        ReusableBuilders builders = getReusableBuilders();
+        if (builders.select == null) {
+            builders.select = select();
+        } else {
+            builders.select.reset();
+        }
+        return builders.select;
+    }
+
+    /**
+     * Reusable {@link InsertQueryBuilder} of current thread, see {@link #reusableSelect()}.
+     *
+     * @return reset {@link InsertQueryBuilder}.
+     */
+    public InsertQueryBuilder reusableInsert() {
+        ReusableBuilders builders = getReusableBuilders();
+        if (builders.insert == null) {
+            builders.insert = insert();
+        } else {
+            builders.insert.reset();
+        }
+        return builders.insert;
+    }
+
+    /**
+     * Reusable {@link UpdateQueryBuilder} of current thread, see {@link #reusableSelect()}.
+     *
+     * @return reset {@link UpdateQueryBuilder}.
+     */
+    public UpdateQueryBuilder reusableUpdate() {
+        ReusableBuilders builders = getReusableBuilders();
+        if (builders.update == null) {
+            builders.update = update();
+        } else {
+            builders.update.reset();
+        }
+        return builders.update;
+    }
+
+    /**
+     * Reusable {@link DeleteQueryBuilder} of current thread, see {@link #reusableSelect()}.
+     *
+     * @return reset {@link DeleteQueryBuilder}.
+     */
+    public DeleteQueryBuilder reusableDelete() {
+        ReusableBuilders builders = getReusableBuilders();
+        if (builders.delete == null) {
+            builders.delete = delete();
+        } else {
+            builders.delete.reset();
+        }
+        return builders.delete;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -124,4 +289,14 @@ public abstract class AbstractSqlTable implements SqlTable {
         result = 31 * result + tableAlias.hashCode();
         return result;
     }
+
+    /**
+     * Builders of one thread for the table.
+     */
+    private static final class ReusableBuilders {
+        private SelectQueryBuilder select;
+        private InsertQueryBuilder insert;
+        private UpdateQueryBuilder update;
+        private DeleteQueryBuilder delete;
+    }
 }
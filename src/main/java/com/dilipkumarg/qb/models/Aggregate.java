@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.google.common.base.Objects;
+
+/**
+ * Aggregate of a column, eg. <code>COUNT(DISTINCT person.NAME)</code>, created by the aggregate methods of
+ * {@link TableColumn}. Aggregates can be selected and compared in having conditions.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class Aggregate implements SqlExpression {
+    private static final String ALL = "*";
+    private static final String DISTINCT = "DISTINCT ";
+    private static final Aggregate COUNT_ALL = new Aggregate(AggregateFunction.COUNT, null, false);
+
+    private final AggregateFunction function;
+    private final TableColumn column;
+    private final boolean distinct;
+
+    /**
+     * @param function
+     * @param column   aggregated column, null only for <code>COUNT(*)</code>.
+     * @param distinct true to aggregate only the distinct values.
+     */
+    public Aggregate(AggregateFunction function, TableColumn column, boolean distinct) {
+        if (column == null && (function != AggregateFunction.COUNT || distinct)) {
+            throw new QueryBuilderRuntimeException(function + " requires a column");
+        }
+        this.function = function;
+        this.column = column;
+        this.distinct = distinct;
+    }
+
+    /**
+     * @return <code>COUNT(*)</code> aggregate.
+     */
+    public static Aggregate countAll() {
+        return COUNT_ALL;
+    }
+
+    public AggregateFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * @return aggregated column, null for <code>COUNT(*)</code>.
+     */
+    public TableColumn getColumn() {
+        return column;
+    }
+
+    public boolean isDistinct() {
+        return distinct;
+    }
+
+    @Override
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        renderer.append(function.getFunction()).append('(');
+        if (column == null) {
+            renderer.append(ALL);
+        } else {
+            if (distinct) {
+                renderer.append(DISTINCT);
+            }
+            renderer.appendColumn(column, withAlias);
+        }
+        renderer.append(')');
+    }
+
+    @Override
+    public void addShape(ShapeBuilder shape) {
+        shape.add(this);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} comparing this aggregate, to be used as having condition.
+     *
+     * @param operator
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition custom(WhereOperator operator, Object value) {
+        return new WhereCondition(this, operator, value);
+    }
+
+    public WhereCondition eq(Object value) {
+        return custom(WhereOperator.EQUALS, value);
+    }
+
+    public WhereCondition ne(Object value) {
+        return custom(WhereOperator.NOT_EQUALS, value);
+    }
+
+    public WhereCondition lt(Object value) {
+        return custom(WhereOperator.LESS_THAN, value);
+    }
+
+    public WhereCondition le(Object value) {
+        return custom(WhereOperator.LESS_THAN_EQUALS, value);
+    }
+
+    public WhereCondition gt(Object value) {
+        return custom(WhereOperator.GREATER_THAN, value);
+    }
+
+    public WhereCondition ge(Object value) {
+        return custom(WhereOperator.GREATER_THAN_EQUALS, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Aggregate)) return false;
+
+        Aggregate aggregate = (Aggregate) o;
+
+        if (distinct != aggregate.distinct) return false;
+        if (function != aggregate.function) return false;
+        if (!Objects.equal(column, aggregate.column)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = function.hashCode();
+        result = 31 * result + (column != null ? column.hashCode() : 0);
+        result = 31 * result + (distinct ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        QueryRenderer renderer = new QueryRenderer();
+        render(renderer, false);
+        return renderer.toString();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import java.util.List;
+
+/**
+ * Query string with one argument array per execution, suitable for JDBC batch execution i.e
+ * {@link java.sql.PreparedStatement#addBatch()}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class BatchSqlQuery {
+    private final String query;
+    private final List<Object[]> batchArgs;
+
+    public BatchSqlQuery(String query, List<Object[]> batchArgs) {
+        this.query = query.trim();
+        this.batchArgs = batchArgs;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return arguments for each execution of the query.
+     */
+    public List<Object[]> getBatchArgs() {
+        return batchArgs;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+/**
+ * Type of a {@link TableColumn}. Values of primitive types are passed as raw long bits from the typed columns to the
+ * JDBC setters, eg. {@link LongColumn#eq(long)}, so they are never boxed.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public enum ColumnType {
+    OBJECT(false),
+    STRING(false),
+    TIMESTAMP(false),
+    INT(true),
+    LONG(true),
+    DOUBLE(true);
+
+    private final boolean primitive;
+
+    ColumnType(boolean primitive) {
+        this.primitive = primitive;
+    }
+
+    /**
+     * @return true if the values are kept as raw long bits.
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * @param value
+     * @return raw bits of the given int value.
+     */
+    public static long bits(int value) {
+        return value;
+    }
+
+    /**
+     * @param value
+     * @return raw bits of the given double value.
+     */
+    public static long bits(double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Boxes the raw bits of a primitive value.
+     *
+     * @param bits
+     * @return boxed value.
+     * @throws UnsupportedOperationException for non primitive types.
+     */
+    public Object toObject(long bits) {
+        switch (this) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            default:
+                throw new UnsupportedOperationException(this + " values are not kept as bits");
+        }
+    }
+}
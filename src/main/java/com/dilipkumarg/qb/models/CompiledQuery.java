@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+
+/**
+ * Immutable, pre rendered form of a query. It holds the final query string of a builder and the number of
+ * place holders in it, so the same query shape can be executed many times with different arguments without
+ * rendering the query again. Instances are thread safe and can be cached in static fields.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class CompiledQuery {
+    private final String query;
+    private final int argumentCount;
+
+    public CompiledQuery(String query, int argumentCount) {
+        this.query = query.trim();
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * @return rendered query string.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return number of arguments expected by {@link #bind(Object...)}.
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * Creates {@link SqlQuery} for the given arguments. Arguments should be given in the same order as the
+     * builder generated them, i.e the order of place holders in the query. Given array is not copied.
+     *
+     * @param args
+     * @return {@link SqlQuery} with the compiled query string.
+     * @throws QueryBuilderRuntimeException when number of arguments not matching with place holders.
+     */
+    public SqlQuery bind(Object... args) {
+        if (args.length != argumentCount) {
+            throw new QueryBuilderRuntimeException("Query expects " + argumentCount + " arguments, but " +
+                    args.length + " given:" + query);
+        }
+        return new SqlQuery(query, args);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledQuery{" +
+                "query='" + query + '\'' +
+                ", argumentCount=" + argumentCount +
+                '}';
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.google.common.collect.Lists;
+
+/**
+ * Immutable node of a predicate tree, combining its conditions with AND or OR, or negating a single condition with
+ * NOT. Rendered with the minimal parenthesis needed for the precedence of {@link LogicalOperator}s.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class CompoundCondition implements Condition {
+    private final LogicalOperator operator;
+    private final List<Condition> conditions;
+
+    public CompoundCondition(LogicalOperator operator, Condition... conditions) {
+        this(operator, Arrays.asList(conditions));
+    }
+
+    public CompoundCondition(LogicalOperator operator, List<? extends Condition> conditions) {
+        if (operator == LogicalOperator.NOT ? conditions.size() != 1 : conditions.isEmpty()) {
+            throw new QueryBuilderRuntimeException(operator + " condition can't have " + conditions.size() +
+                    " conditions");
+        }
+        if (conditions.contains(null)) {
+            throw new QueryBuilderRuntimeException(operator + " condition can't have null conditions");
+        }
+        this.operator = operator;
+        // Copying, so later changes to the given list won't change the condition.
+        this.conditions = Collections.unmodifiableList(Lists.<Condition>newArrayList(conditions));
+    }
+
+    public LogicalOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * @return Unmodifiable {@link List} of the operands.
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        if (operator == LogicalOperator.NOT) {
+            renderer.append(operator.getOperator());
+            operator.renderOperand(renderer, conditions.get(0), withAlias);
+            return;
+        }
+        for (int i = 0; i < conditions.size(); i++) {
+            if (i > 0) {
+                renderer.append(operator.getOperator());
+            }
+            operator.renderOperand(renderer, conditions.get(i), withAlias);
+        }
+    }
+
+    @Override
+    public void addShape(ShapeBuilder shape) {
+        shape.add(operator).add(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            conditions.get(i).addShape(shape);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompoundCondition)) return false;
+
+        CompoundCondition that = (CompoundCondition) o;
+
+        if (operator != that.operator) return false;
+        if (!conditions.equals(that.conditions)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = operator.hashCode();
+        result = 31 * result + conditions.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        QueryRenderer renderer = new QueryRenderer();
+        render(renderer, true);
+        return renderer.toString();
+    }
+}
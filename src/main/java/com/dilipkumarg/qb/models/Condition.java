@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+
+/**
+ * Boolean predicate of where, on and having clauses. Either a {@link WhereCondition} leaf or a
+ * {@link CompoundCondition} combining other conditions, created with {@link Conditions}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public interface Condition {
+
+    /**
+     * Renders the condition and adds its arguments, see {@link LogicalOperator#renderOperand} for rendering it as
+     * an operand of other condition.
+     *
+     * @param renderer
+     * @param withAlias true to prefix the columns with table alias.
+     */
+    void render(QueryRenderer renderer, boolean withAlias);
+
+    /**
+     * Adds the parts deciding the rendered condition to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    void addShape(ShapeBuilder shape);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+/**
+ * Factories of predicate trees, eg. <code>or(person.age.lt(18), and(person.age.ge(60), not(person.name.eq(x))))</code>.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class Conditions {
+
+    private Conditions() {
+    }
+
+    /**
+     * @param conditions
+     * @return {@link CompoundCondition} true when all the conditions are true.
+     */
+    public static CompoundCondition and(Condition... conditions) {
+        return new CompoundCondition(LogicalOperator.AND, conditions);
+    }
+
+    /**
+     * @param conditions
+     * @return {@link CompoundCondition} true when any of the conditions is true.
+     */
+    public static CompoundCondition or(Condition... conditions) {
+        return new CompoundCondition(LogicalOperator.OR, conditions);
+    }
+
+    /**
+     * @param condition
+     * @return {@link CompoundCondition} negating the given condition.
+     */
+    public static CompoundCondition not(Condition condition) {
+        return new CompoundCondition(LogicalOperator.NOT, condition);
+    }
+}
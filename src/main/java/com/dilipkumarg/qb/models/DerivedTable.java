@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+
+/**
+ * {@link SqlTable} selecting from a subquery, rendered as <code>(SELECT ...) alias</code> in the from and join
+ * clauses with the arguments of the subquery added in place. Columns are created by their names in the select list
+ * of the subquery.
+ * <p/>
+ * A derived table has no name, so name methods return the alias. It renders the current state of the subquery, which
+ * shouldn't be changed while the table is in use. Tables with the same alias and subquery fingerprint are equal, so
+ * structurally equal queries over new derived tables share their {@link com.dilipkumarg.qb.core.QueryShape}.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class DerivedTable implements SqlTable {
+    private static final int QUOTES = IdentifierQuote.values().length;
+
+    private final SelectQueryBuilder query;
+    private final String alias;
+    private final String[] quotedAliases;
+
+    public DerivedTable(SelectQueryBuilder query, String alias) {
+        this.query = query;
+        this.alias = alias;
+        this.quotedAliases = new String[QUOTES];
+    }
+
+    public SelectQueryBuilder getQuery() {
+        return query;
+    }
+
+    @Override
+    public String getTableName() {
+        return alias;
+    }
+
+    @Override
+    public String getTableAlias() {
+        return alias;
+    }
+
+    @Override
+    public String getTableNameWithAlias() {
+        return alias;
+    }
+
+    @Override
+    public String getTableName(boolean withAlias) {
+        return alias;
+    }
+
+    @Override
+    public String getTableName(boolean withAlias, IdentifierQuote quote) {
+        if (quote == IdentifierQuote.NONE) {
+            return alias;
+        }
+        // Racy caching is fine here, Strings are immutable and all the threads compute the same value.
+        String quoted = quotedAliases[quote.ordinal()];
+        if (quoted == null) {
+            quoted = quote.quote(alias);
+            quotedAliases[quote.ordinal()] = quoted;
+        }
+        return quoted;
+    }
+
+    @Override
+    public TableColumn createTableColumn(String fieldName) {
+        return new TableColumn(fieldName, this);
+    }
+
+    /**
+     * Creates new {@link SelectQueryBuilder} selecting from this table.
+     *
+     * @return {@link SelectQueryBuilder} object.
+     */
+    public SelectQueryBuilder select() {
+        return new SelectQueryBuilder(this);
+    }
+
+    /**
+     * Renders the subquery in parenthesis followed by the alias, alias is mandatory for derived tables.
+     *
+     * @param renderer
+     */
+    public void render(QueryRenderer renderer) {
+        renderer.append('(');
+        query.render(renderer);
+        renderer.append(") ").append(getTableName(true, renderer.getIdentifierQuote()));
+    }
+
+    /**
+     * Adds the alias and fingerprint of the subquery to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    public void addShape(ShapeBuilder shape) {
+        shape.add(alias).add(query.fingerprint());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DerivedTable)) return false;
+
+        DerivedTable that = (DerivedTable) o;
+
+        if (!alias.equals(that.alias)) return false;
+        if (!query.fingerprint().equals(that.query.fingerprint())) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * alias.hashCode() + query.fingerprint().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DerivedTable{" +
+                "alias='" + alias + '\'' +
+                '}';
+    }
+}
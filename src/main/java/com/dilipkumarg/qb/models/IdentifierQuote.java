@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+/**
+ * Quoting style for table, alias and column names.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public enum IdentifierQuote {
+    /**
+     * Identifiers are rendered as they are.
+     */
+    NONE("", ""),
+    /**
+     * Standard SQL double quotes, used by PostgreSQL, Oracle and H2.
+     */
+    ANSI("\"", "\""),
+    /**
+     * Back ticks used by MySQL.
+     */
+    BACKTICK("`", "`"),
+    /**
+     * Square brackets used by SQL Server.
+     */
+    BRACKET("[", "]");
+
+    private final String open;
+    private final String close;
+
+    IdentifierQuote(String open, String close) {
+        this.open = open;
+        this.close = close;
+    }
+
+    /**
+     * @param identifier
+     * @return quoted identifier.
+     */
+    public String quote(String identifier) {
+        return this == NONE ? identifier : open + identifier + close;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.google.common.collect.Lists;
+
+/**
+ * Pads <code>IN</code> lists to a fixed set of sizes. Every distinct list size generates a new query string, padding
+ * the lists to 1, 4, 16, 64, 256 and then multiples of 256 values keeps the number of distinct queries small, so
+ * they can be reused from database and driver statement caches. Padding repeats the last value, which doesn't
+ * change the result of <code>IN</code> or <code>NOT IN</code>.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public final class InListBuckets {
+    private static final int[] BUCKETS = {1, 4, 16, 64, 256};
+    private static final int LARGE_BUCKET = 256;
+
+    private InListBuckets() {
+    }
+
+    /**
+     * @param size number of values.
+     * @return bucket size for the given number of values.
+     */
+    public static int bucketSize(int size) {
+        if (size <= 0) {
+            throw new QueryBuilderRuntimeException("IN list requires at least one value");
+        }
+        for (int bucket : BUCKETS) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        return ((size + LARGE_BUCKET - 1) / LARGE_BUCKET) * LARGE_BUCKET;
+    }
+
+    /**
+     * Creates new list with given values padded with the last value up to its bucket size.
+     *
+     * @param values
+     * @return padded {@link List}.
+     */
+    public static List<Object> pad(Collection<?> values) {
+        int bucketSize = bucketSize(values.size());
+        List<Object> padded = Lists.newArrayListWithCapacity(bucketSize);
+        padded.addAll(values);
+        Object last = padded.get(padded.size() - 1);
+        while (padded.size() < bucketSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+
+/**
+ * Operators of {@link CompoundCondition}, in the increasing order of precedence.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public enum LogicalOperator {
+    OR(" OR "),
+    AND(" AND "),
+    NOT("NOT ");
+
+    private final String operator;
+
+    LogicalOperator(String operator) {
+        this.operator = operator;
+    }
+
+    /**
+     * @return SQL representation of the operator with the surrounding spaces.
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Renders the given operand of this operator, in parenthesis only when it binds weaker than this operator.
+     * Eg. OR inside AND is rendered as <code>a AND (b OR c)</code>, but AND inside OR as <code>a OR b AND c</code>.
+     *
+     * @param renderer
+     * @param operand
+     * @param withAlias
+     */
+    public void renderOperand(QueryRenderer renderer, Condition operand, boolean withAlias) {
+        if (operand instanceof CompoundCondition && ((CompoundCondition) operand).getOperator().compareTo(this) < 0) {
+            renderer.append('(');
+            operand.render(renderer, withAlias);
+            renderer.append(')');
+        } else {
+            operand.render(renderer, withAlias);
+        }
+    }
+}
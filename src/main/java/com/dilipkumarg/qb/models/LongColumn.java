@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+/**
+ * {@link TableColumn} of {@link ColumnType#LONG} type, its conditions keep long values without boxing.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class LongColumn extends TableColumn {
+
+    public LongColumn(String fieldName, SqlTable table) {
+        super(fieldName, table, ColumnType.LONG);
+    }
+
+    private WhereCondition condition(WhereOperator operator, long value) {
+        return new WhereCondition(this, operator, ColumnType.LONG, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for equals '=' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition eq(long value) {
+        return condition(WhereOperator.EQUALS, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for not equals '&lt&gt' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition ne(long value) {
+        return condition(WhereOperator.NOT_EQUALS, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for less than '&lt' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition lt(long value) {
+        return condition(WhereOperator.LESS_THAN, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for greater than '&gt' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition gt(long value) {
+        return condition(WhereOperator.GREATER_THAN, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for less than equals '&lt=' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition le(long value) {
+        return condition(WhereOperator.LESS_THAN_EQUALS, value);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for greater than equals '&gt=' condition.
+     *
+     * @param value
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition ge(long value) {
+        return condition(WhereOperator.GREATER_THAN_EQUALS, value);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+
+/**
+ * Expression which can be selected or compared in a {@link WhereCondition}, eg. a {@link TableColumn} or an
+ * {@link Aggregate}. Implementations are immutable and have value based equals, so they can be used as
+ * {@link ShapeBuilder} parts.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public interface SqlExpression {
+
+    /**
+     * Renders the expression, expressions without arguments are rendered same for all the values.
+     *
+     * @param renderer
+     * @param withAlias true to prefix the columns with table alias.
+     */
+    void render(QueryRenderer renderer, boolean withAlias);
+
+    /**
+     * Adds the parts deciding the rendered expression to the given {@link ShapeBuilder}.
+     *
+     * @param shape
+     */
+    void addShape(ShapeBuilder shape);
+}
@@ -17,12 +17,19 @@ package com.dilipkumarg.qb.models;
 import java.util.Collection;
 
 /**
+ * Query string with its arguments. Arguments of the typed columns with primitive values, eg.
+ * {@link LongColumn#eq(long)}, are kept unboxed: {@link #getArgumentType(int)} tells the type of an argument and
+ * {@link #getArgumentBits(int)} gives its raw bits. {@link #getArgs()} boxes them on first call.
+ *
  * @author Dilip Kumar.
  * @since 1/7/14
  */
 public class SqlQuery {
     private final String query;
+    // Holds the primitive ColumnType in place of the primitive arguments, whose bits are in primitives.
     private final Object[] args;
+    private final long[] primitives;
+    private volatile Object[] boxedArgs;
 
 
     public SqlQuery(String query) {
@@ -35,16 +42,72 @@ public class SqlQuery {
     }
 
     public SqlQuery(String query, Object[] args) {
+        this(query, args, null);
+    }
+
+    /**
+     * @param query
+     * @param args       arguments, with a primitive {@link ColumnType} in place of the primitive arguments.
+     * @param primitives raw bits of the primitive arguments at their indexes, null when there are none.
+     */
+    public SqlQuery(String query, Object[] args, long[] primitives) {
         //Assert.notNull(query);
         this.query = query.trim();
         this.args = args;
+        this.primitives = primitives;
     }
 
     public String getQuery() {
         return query;
     }
 
+    /**
+     * @return all the arguments, primitive ones boxed.
+     */
     public Object[] getArgs() {
-        return args;
+        if (primitives == null) {
+            return args;
+        }
+        Object[] boxed = boxedArgs;
+        if (boxed == null) {
+            boxed = args.clone();
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = getArgument(i);
+            }
+            boxedArgs = boxed;
+        }
+        return boxed;
+    }
+
+    public int getArgumentsCount() {
+        return args.length;
+    }
+
+    /**
+     * @param index
+     * @return primitive {@link ColumnType} of the argument, {@link ColumnType#OBJECT} for other arguments.
+     */
+    public ColumnType getArgumentType(int index) {
+        return isPrimitive(index) ? (ColumnType) args[index] : ColumnType.OBJECT;
+    }
+
+    /**
+     * @param index
+     * @return raw bits of a primitive argument, see {@link ColumnType#toObject(long)}.
+     */
+    public long getArgumentBits(int index) {
+        return primitives[index];
+    }
+
+    /**
+     * @param index
+     * @return argument at the index, boxed when it is primitive.
+     */
+    public Object getArgument(int index) {
+        return isPrimitive(index) ? ((ColumnType) args[index]).toObject(primitives[index]) : args[index];
+    }
+
+    private boolean isPrimitive(int index) {
+        return primitives != null && args[index] instanceof ColumnType;
     }
 }
@@ -40,6 +40,14 @@ public interface SqlTable {
      */
     String getTableName(boolean withAlias);
 
+    /**
+     * @param withAlias
+     * @param quote
+     * @return {@link String} TableName quoted with given {@link IdentifierQuote}, with quoted Alias suffix if
+     * withAlias is 'true'.
+     */
+    String getTableName(boolean withAlias, IdentifierQuote quote);
+
     /**
      * Creates new {@link TableColumn} for the given {@link SqlTable}
      *
@@ -14,20 +14,40 @@
  */
 package com.dilipkumarg.qb.models;
 
+import java.util.Collection;
+
+import com.dilipkumarg.qb.SelectQueryBuilder;
 import com.dilipkumarg.qb.core.OrderByEntry;
 import com.dilipkumarg.qb.core.OrderType;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
 
 /**
  * @author Dilip Kumar.
  * @since 1/7/14
  */
-public class TableColumn {
+public class TableColumn implements SqlExpression {
+    private static final int QUOTES = IdentifierQuote.values().length;
+
     private final String fieldName;
     private final SqlTable table;
+    private final ColumnType type;
+    // Renderings of the name, table name and alias are constants so they are computed only once.
+    private final String fieldNameWithAlias;
+    private final String[] quotedFieldNames;
+    private final String[] quotedFieldNamesWithAlias;
 
     public TableColumn(String fieldName, SqlTable table) {
+        this(fieldName, table, ColumnType.OBJECT);
+    }
+
+    public TableColumn(String fieldName, SqlTable table, ColumnType type) {
         this.fieldName = fieldName;
         this.table = table;
+        this.type = type;
+        this.fieldNameWithAlias = table.getTableAlias() + "." + fieldName;
+        this.quotedFieldNames = new String[QUOTES];
+        this.quotedFieldNamesWithAlias = new String[QUOTES];
     }
 
     /**
@@ -37,6 +57,13 @@ public class TableColumn {
         return fieldName;
     }
 
+    /**
+     * @return {@link ColumnType} of the column, {@link ColumnType#OBJECT} when not declared.
+     */
+    public ColumnType getType() {
+        return type;
+    }
+
     /**
      * @return Alias name of the table.
      */
@@ -48,7 +75,7 @@ public class TableColumn {
      * @return Column name with the Table alias.
      */
     public String getFieldNameWithAlias() {
-        return getTableAlias() + "." + getFieldName();
+        return fieldNameWithAlias;
     }
 
     /**
@@ -56,7 +83,69 @@ public class TableColumn {
      * @return {@link String} field name with alias if withAlias 'true' else returns fieldName.
      */
     public String getFieldName(boolean withAlias) {
-        return withAlias ? getFieldNameWithAlias() : getFieldName();
+        return withAlias ? fieldNameWithAlias : fieldName;
+    }
+
+    /**
+     * Field name quoted with the given {@link IdentifierQuote}, eg. <code>"person"."NAME"</code>. Quoted names are
+     * computed on first use and cached.
+     *
+     * @param withAlias
+     * @param quote
+     * @return {@link String} quoted field name with alias if withAlias 'true' else returns quoted fieldName.
+     */
+    public String getFieldName(boolean withAlias, IdentifierQuote quote) {
+        if (quote == IdentifierQuote.NONE) {
+            return getFieldName(withAlias);
+        }
+        String[] cache = withAlias ? quotedFieldNamesWithAlias : quotedFieldNames;
+        // Racy caching is fine here, Strings are immutable and all the threads compute the same value.
+        String name = cache[quote.ordinal()];
+        if (name == null) {
+            name = withAlias ? quote.quote(getTableAlias()) + "." + quote.quote(fieldName) : quote.quote(fieldName);
+            cache[quote.ordinal()] = name;
+        }
+        return name;
+    }
+
+    @Override
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        renderer.appendColumn(this, withAlias);
+    }
+
+    @Override
+    public void addShape(ShapeBuilder shape) {
+        shape.add(this);
+    }
+
+    /**
+     * @return <code>COUNT(column)</code> {@link Aggregate}, counting the rows having non null values.
+     */
+    public Aggregate count() {
+        return new Aggregate(AggregateFunction.COUNT, this, false);
+    }
+
+    /**
+     * @return <code>COUNT(DISTINCT column)</code> {@link Aggregate}.
+     */
+    public Aggregate countDistinct() {
+        return new Aggregate(AggregateFunction.COUNT, this, true);
+    }
+
+    public Aggregate sum() {
+        return new Aggregate(AggregateFunction.SUM, this, false);
+    }
+
+    public Aggregate avg() {
+        return new Aggregate(AggregateFunction.AVG, this, false);
+    }
+
+    public Aggregate min() {
+        return new Aggregate(AggregateFunction.MIN, this, false);
+    }
+
+    public Aggregate max() {
+        return new Aggregate(AggregateFunction.MAX, this, false);
     }
 
     /**
@@ -178,6 +267,89 @@ public class TableColumn {
         return custom(WhereOperator.NOT_LIKE, value);
     }
 
+    /**
+     * Creates new {@link WhereCondition} comparing the column with TRUE literal of the dialect.
+     *
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition isTrue() {
+        return custom(WhereOperator.EQUALS, BooleanLiteral.TRUE);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} comparing the column with FALSE literal of the dialect.
+     *
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition isFalse() {
+        return custom(WhereOperator.EQUALS, BooleanLiteral.FALSE);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for 'IN' condition, with a place holder for every value.
+     *
+     * @param values
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition in(Collection<?> values) {
+        return in(values, false);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for 'IN' condition. If bucketed is true values are padded as per
+     * {@link InListBuckets}, so lists with different sizes can generate the same query.
+     *
+     * @param values
+     * @param bucketed
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition in(Collection<?> values, boolean bucketed) {
+        return custom(WhereOperator.IN, bucketed ? InListBuckets.pad(values) : values);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for <code>IN (SELECT ...)</code> condition, arguments of the subquery are
+     * added in place.
+     *
+     * @param subquery selecting single column.
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition in(SelectQueryBuilder subquery) {
+        return custom(WhereOperator.IN, subquery);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for <code>NOT IN (SELECT ...)</code> condition.
+     *
+     * @param subquery selecting single column.
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition notIn(SelectQueryBuilder subquery) {
+        return custom(WhereOperator.NOT_IN, subquery);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for 'NOT IN' condition, with a place holder for every value.
+     *
+     * @param values
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition notIn(Collection<?> values) {
+        return notIn(values, false);
+    }
+
+    /**
+     * Creates new {@link WhereCondition} for 'NOT IN' condition. If bucketed is true values are padded as per
+     * {@link InListBuckets}.
+     *
+     * @param values
+     * @param bucketed
+     * @return {@link WhereCondition}
+     */
+    public WhereCondition notIn(Collection<?> values, boolean bucketed) {
+        return custom(WhereOperator.NOT_IN, bucketed ? InListBuckets.pad(values) : values);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
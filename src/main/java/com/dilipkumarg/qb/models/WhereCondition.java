@@ -14,31 +14,133 @@
  */
 package com.dilipkumarg.qb.models;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.core.QueryBuilder;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.ShapeBuilder;
+import com.dilipkumarg.qb.dialect.Dialect;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
 /**
+ * Immutable condition of a where clause. Rendering a condition has no side effects, arguments are returned by
+ * {@link #getValues()} instead of being stored, so same instance can be shared between threads and builders.
+ * Subclasses should keep it that way.
+ * <p/>
+ * Subquery conditions, <code>IN (SELECT ...)</code> and <code>EXISTS (SELECT ...)</code>, are the exception. They
+ * render the current state of their {@link SelectQueryBuilder}, with the dialect of the outer query, so the subquery
+ * shouldn't be changed while the condition is in use.
+ *
  * @author Dilip Kumar.
  * @since 1/7/14
  */
-public class WhereCondition {
-    private final TableColumn column;
+public class WhereCondition implements Condition {
+    private final SqlExpression expression;
     private final WhereOperator operator;
     private final Object value;
-    // This list used for Sub-Where conditions.
-    // eg. Where ((p.person = a.person) OR (p.name = a.name)) AND p.age=a.age
-    private final List<Object> values;
+    // Primitive values of typed columns are kept as raw bits in place of the value.
+    private final ColumnType valueType;
+    private final long valueBits;
 
     public WhereCondition(TableColumn column, WhereOperator operator, Object value) {
-        this.column = column;
+        this((SqlExpression) column, operator, value);
+    }
+
+    /**
+     * Creates condition comparing the given {@link SqlExpression}, eg. an {@link Aggregate} in having clause.
+     *
+     * @param expression
+     * @param operator
+     * @param value
+     */
+    public WhereCondition(SqlExpression expression, WhereOperator operator, Object value) {
+        if (operator.isUnary() != (expression == null)) {
+            throw new QueryBuilderRuntimeException(operator + " condition " + (operator.isUnary() ? "can't" :
+                    "should") + " have left hand side operand");
+        }
+        if (operator.isUnary() && !(value instanceof SelectQueryBuilder)) {
+            throw new QueryBuilderRuntimeException(operator + " condition requires a subquery:" + value);
+        }
+        this.expression = expression;
         this.operator = operator;
-        this.value = value;
-        this.values = Lists.newArrayList();
+        this.value = operator.isMultiValued() && !(value instanceof SelectQueryBuilder) ?
+                toValueList(operator, value) : value;
+        this.valueType = ColumnType.OBJECT;
+        this.valueBits = 0;
+    }
+
+    /**
+     * Creates condition with a primitive value, see {@link ColumnType#toObject(long)}.
+     *
+     * @param column
+     * @param operator  single valued operator.
+     * @param valueType primitive {@link ColumnType}.
+     * @param valueBits raw bits of the value.
+     */
+    public WhereCondition(TableColumn column, WhereOperator operator, ColumnType valueType, long valueBits) {
+        if (!valueType.isPrimitive() || operator.isMultiValued()) {
+            throw new QueryBuilderRuntimeException(operator + " condition can't have " + valueType + " bits");
+        }
+        this.expression = column;
+        this.operator = operator;
+        this.value = null;
+        this.valueType = valueType;
+        this.valueBits = valueBits;
+    }
+
+    /**
+     * Creates <code>EXISTS (SELECT ...)</code> condition, usually correlated with the outer query by comparing the
+     * columns of both the tables in the subquery.
+     *
+     * @param subquery
+     * @return {@link WhereCondition}
+     */
+    public static WhereCondition exists(SelectQueryBuilder subquery) {
+        return new WhereCondition(null, WhereOperator.EXISTS, subquery);
+    }
+
+    /**
+     * Creates <code>NOT EXISTS (SELECT ...)</code> condition, see {@link #exists(SelectQueryBuilder)}.
+     *
+     * @param subquery
+     * @return {@link WhereCondition}
+     */
+    public static WhereCondition notExists(SelectQueryBuilder subquery) {
+        return new WhereCondition(null, WhereOperator.NOT_EXISTS, subquery);
     }
 
+    private static List<Object> toValueList(WhereOperator operator, Object value) {
+        if (!(value instanceof Collection)) {
+            throw new QueryBuilderRuntimeException(operator + " condition requires a Collection of values:" + value);
+        }
+        Collection<?> values = (Collection<?>) value;
+        if (values.isEmpty()) {
+            throw new QueryBuilderRuntimeException(operator + " condition requires at least one value");
+        }
+        // Copying, so later changes to the given collection won't change the condition.
+        return Collections.unmodifiableList(Lists.newArrayList(values));
+    }
+
+    /**
+     * @return compared column, null when the condition compares other {@link SqlExpression} or has
+     * {@link WhereOperator#isUnary()} operator.
+     */
     public TableColumn getColumn() {
-        return column;
+        return expression instanceof TableColumn ? (TableColumn) expression : null;
+    }
+
+    /**
+     * @return compared {@link SqlExpression}, left hand side operand. Null for {@link WhereOperator#isUnary()}
+     * operators.
+     */
+    public SqlExpression getExpression() {
+        return expression;
     }
 
     public WhereOperator getOperator() {
@@ -46,12 +148,78 @@ public class WhereCondition {
     }
 
     /**
-     * Returns the list of arguments. It won't include {@link TableColumn} objects.
+     * @return right hand side operand, either a value, a {@link TableColumn} or a {@link SelectQueryBuilder}.
+     */
+    public Object getValue() {
+        return valueType.isPrimitive() ? valueType.toObject(valueBits) : value;
+    }
+
+    /**
+     * @return {@link ColumnType} of a primitive value, {@link ColumnType#OBJECT} otherwise.
+     */
+    public ColumnType getValueType() {
+        return valueType;
+    }
+
+    /**
+     * @return raw bits of a primitive value.
+     */
+    public long getValueBits() {
+        return valueBits;
+    }
+
+    /**
+     * @return true if this condition compares two columns, in that case it won't have any arguments.
+     */
+    public boolean isColumnCondition() {
+        return value instanceof TableColumn;
+    }
+
+    /**
+     * @return true if the value is rendered as a literal, in that case it won't have any arguments.
+     */
+    public boolean isLiteralCondition() {
+        return value instanceof BooleanLiteral;
+    }
+
+    /**
+     * @return true if the right hand side operand is a subquery.
+     */
+    public boolean isSubqueryCondition() {
+        return value instanceof SelectQueryBuilder;
+    }
+
+    /**
+     * Returns the list of arguments. It won't include {@link TableColumn} objects, arguments of a subquery are
+     * collected with the dialect of the subquery, see {@link #getValues(Dialect)}.
      *
-     * @return {@link List} of arguments.
+     * @return Unmodifiable {@link List} of arguments.
      */
     public List<Object> getValues() {
-        return values;
+        return getValues(isSubqueryCondition() ? ((SelectQueryBuilder) value).getDialect() : null);
+    }
+
+    /**
+     * Returns the list of arguments in the order they are rendered with the given {@link Dialect} of the outer
+     * query. Arguments of a subquery are collected by rendering it without the query string, so its build
+     * listener and render cache aren't involved.
+     *
+     * @param dialect of the outer query, used only for subqueries.
+     * @return Unmodifiable {@link List} of arguments.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> getValues(Dialect dialect) {
+        if (isColumnCondition() || isLiteralCondition()) {
+            return Collections.emptyList();
+        } else if (isSubqueryCondition()) {
+            QueryRenderer arguments = new QueryRenderer(null, null).setDialect(dialect);
+            ((SelectQueryBuilder) value).render(arguments);
+            return Collections.unmodifiableList(Arrays.asList(arguments.toSqlQuery("").getArgs()));
+        } else if (operator.isMultiValued()) {
+            return (List<Object>) value;
+        } else {
+            return Collections.singletonList(getValue());
+        }
     }
 
     /**
@@ -61,14 +229,39 @@ public class WhereCondition {
      * @return {@link String} generated string.
      */
     protected String buildCondition(boolean withAlias) {
-        // clearing previous value set
-        values.clear();
-        if (value instanceof TableColumn) {
-            return operator.join(column.getFieldName(withAlias), ((TableColumn) value).getFieldName(withAlias));
+        QueryRenderer renderer = new QueryRenderer();
+        render(renderer, withAlias);
+        return renderer.toString();
+    }
+
+    /**
+     * Renders the condition into the given {@link QueryRenderer} and adds its arguments.
+     *
+     * @param renderer
+     * @param withAlias
+     */
+    @Override
+    public void render(QueryRenderer renderer, boolean withAlias) {
+        if (expression != null) {
+            expression.render(renderer, withAlias);
+            renderer.append(' ');
+        }
+        renderer.append(operator.getOperator()).append(' ');
+        if (isSubqueryCondition()) {
+            renderer.append('(');
+            ((SelectQueryBuilder) value).render(renderer);
+            renderer.append(')');
+        } else if (isColumnCondition()) {
+            renderer.appendColumn((TableColumn) value, withAlias);
+        } else if (isLiteralCondition()) {
+            renderer.append(renderer.getDialect().getBooleanLiteral(((BooleanLiteral) value).getValue()));
+        } else if (operator.isMultiValued()) {
+            List<Object> values = getValues();
+            renderer.append('(').appendPlaceHolders(values.size()).append(')').addArguments(values);
+        } else if (valueType.isPrimitive()) {
+            renderer.append(QueryBuilder.PLACE_HOLDER).addArgument(valueType, valueBits);
         } else {
-            // Adding value to parameters list.
-            values.add(value);
-            return operator.joinWithPlaceHolder(column.getFieldName(withAlias));
+            renderer.append(QueryBuilder.PLACE_HOLDER).addArgument(value);
         }
     }
 
@@ -90,6 +283,30 @@ public class WhereCondition {
         return buildCondition(true);
     }
 
+    /**
+     * Adds the parts deciding the rendered condition to the given {@link ShapeBuilder}, values bound as arguments
+     * are left out except the number of values of multi valued operators. Subqueries are added with their
+     * fingerprint.
+     *
+     * @param shape
+     */
+    @Override
+    public void addShape(ShapeBuilder shape) {
+        if (expression != null) {
+            expression.addShape(shape);
+        }
+        shape.add(operator);
+        if (isSubqueryCondition()) {
+            shape.add(((SelectQueryBuilder) value).fingerprint());
+        } else if (isColumnCondition() || isLiteralCondition()) {
+            shape.add(value);
+        } else if (operator.isMultiValued()) {
+            shape.add(((List<?>) value).size());
+        } else {
+            shape.add((Object) null);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -97,18 +314,21 @@ public class WhereCondition {
 
         WhereCondition condition = (WhereCondition) o;
 
-        if (!column.equals(condition.column)) return false;
+        if (!Objects.equal(expression, condition.expression)) return false;
         if (operator != condition.operator) return false;
-        if (!value.equals(condition.value)) return false;
+        if (!Objects.equal(value, condition.value)) return false;
+        if (valueType != condition.valueType) return false;
+        if (valueBits != condition.valueBits) return false;
 
         return true;
     }
 
     @Override
     public int hashCode() {
-        int result = column.hashCode();
+        int result = expression != null ? expression.hashCode() : 0;
         result = 31 * result + operator.hashCode();
-        result = 31 * result + value.hashCode();
+        result = 31 * result + (value != null ? value.hashCode() : 0);
+        result = 31 * result + (int) (valueBits ^ (valueBits >>> 32));
         return result;
     }
 }
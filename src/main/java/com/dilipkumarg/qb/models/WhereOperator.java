@@ -26,12 +26,49 @@ public enum WhereOperator {
     LESS_THAN_EQUALS("<="),
     GREATER_THAN_EQUALS(">="),
     LIKE("LIKE"),
-    NOT_LIKE("NOT LIKE");
+    NOT_LIKE("NOT LIKE"),
+    IN("IN", true),
+    NOT_IN("NOT IN", true),
+    EXISTS("EXISTS", false, true),
+    NOT_EXISTS("NOT EXISTS", false, true);
 
     private final String operator;
+    private final boolean multiValued;
+    private final boolean unary;
 
     WhereOperator(String operator) {
+        this(operator, false);
+    }
+
+    WhereOperator(String operator, boolean multiValued) {
+        this(operator, multiValued, false);
+    }
+
+    WhereOperator(String operator, boolean multiValued, boolean unary) {
         this.operator = operator;
+        this.multiValued = multiValued;
+        this.unary = unary;
+    }
+
+    /**
+     * @return true if the operator takes a list of values, eg. <code>IN (?,?)</code>.
+     */
+    public boolean isMultiValued() {
+        return multiValued;
+    }
+
+    /**
+     * @return true if the operator has only the right hand side operand, eg. <code>EXISTS (SELECT ...)</code>.
+     */
+    public boolean isUnary() {
+        return unary;
+    }
+
+    /**
+     * @return SQL representation of the operator.
+     */
+    public String getOperator() {
+        return operator;
     }
 
     public String join(String operand1, String operand2) {
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.dialect.SqlServerDialect;
+import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.BatchSqlQuery;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class BatchInsertQueryBuilderTest {
+    private QPerson person;
+    private BatchInsertQueryBuilder builder;
+
+    public BatchInsertQueryBuilderTest() {
+        person = new QPerson();
+    }
+
+    @Before
+    public void setUp() {
+        builder = new BatchInsertQueryBuilder(person);
+    }
+
+    @Test
+    public void testMultiRowInsert() {
+        SqlQuery query = builder.columns(person.name, person.age)
+                .addRow("A", 1)
+                .addRow("B", 2)
+                .build();
+        assertEquals("INSERT INTO PERSON (NAME,AGE) VALUES (?,?),(?,?)", query.getQuery());
+        assertArrayEquals(new Object[]{"A", 1, "B", 2}, query.getArgs());
+    }
+
+    @Test
+    public void testRowsFromSet() throws DuplicateArgumentException {
+        builder.set(person.name, "A").set(person.age, 1).addRow();
+        // different order of set calls should still follow the columns of first row.
+        builder.set(person.age, 2).set(person.name, "B").addRow();
+        SqlQuery query = builder.build();
+        assertEquals("INSERT INTO PERSON (NAME,AGE) VALUES (?,?),(?,?)", query.getQuery());
+        assertArrayEquals(new Object[]{"A", 1, "B", 2}, query.getArgs());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testRowWithDifferentColumns() throws DuplicateArgumentException {
+        builder.set(person.name, "A").set(person.age, 1).addRow();
+        builder.set(person.name, "B").set(person.lastName, "C").addRow();
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testInvalidRowSize() {
+        builder.columns(person.name, person.age).addRow("A");
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testEmptyBatch() {
+        builder.columns(person.name).build();
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testExceedingMaxParameters() {
+        builder.columns(person.name, person.age).maxParameters(3).addRow("A", 1).addRow("B", 2).build();
+    }
+
+    @Test
+    public void testChunks() {
+        builder.columns(person.name, person.age).maxParameters(5);
+        for (int i = 0; i < 5; i++) {
+            builder.addRow("N" + i, i);
+        }
+        List<SqlQuery> chunks = builder.buildChunks();
+        assertEquals(3, chunks.size());
+        assertEquals("INSERT INTO PERSON (NAME,AGE) VALUES (?,?),(?,?)", chunks.get(0).getQuery());
+        assertSame(chunks.get(0).getQuery(), chunks.get(1).getQuery());
+        assertEquals("INSERT INTO PERSON (NAME,AGE) VALUES (?,?)", chunks.get(2).getQuery());
+        assertArrayEquals(new Object[]{"N0", 0, "N1", 1}, chunks.get(0).getArgs());
+        assertArrayEquals(new Object[]{"N2", 2, "N3", 3}, chunks.get(1).getArgs());
+        assertArrayEquals(new Object[]{"N4", 4}, chunks.get(2).getArgs());
+    }
+
+    @Test
+    public void testBatch() {
+        BatchSqlQuery batch = builder.columns(person.name, person.age)
+                .addRow("A", 1)
+                .addRow("B", 2)
+                .buildBatch();
+        assertEquals("INSERT INTO PERSON (NAME,AGE) VALUES (?,?)", batch.getQuery());
+        assertEquals(2, batch.getBatchArgs().size());
+        assertArrayEquals(new Object[]{"A", 1}, batch.getBatchArgs().get(0));
+        assertArrayEquals(new Object[]{"B", 2}, batch.getBatchArgs().get(1));
+    }
+
+    @Test
+    public void testQuotedIdentifiers() {
+        builder.columns(person.name, person.age).maxParameters(4).dialect(new SqlServerDialect(true))
+                .addRow("A", 1)
+                .addRow("B", 2)
+                .addRow("C", 3);
+        List<SqlQuery> chunks = builder.buildChunks();
+        assertEquals("INSERT INTO [PERSON] ([NAME],[AGE]) VALUES (?,?),(?,?)", chunks.get(0).getQuery());
+        assertEquals("INSERT INTO [PERSON] ([NAME],[AGE]) VALUES (?,?)", chunks.get(1).getQuery());
+        assertEquals("INSERT INTO [PERSON] ([NAME],[AGE]) VALUES (?,?)", builder.buildBatch().getQuery());
+    }
+}
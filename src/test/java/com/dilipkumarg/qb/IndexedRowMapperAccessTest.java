@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.jdbc.IndexedRowMapper;
+import com.dilipkumarg.qb.jdbc.QueryExecutor;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link IndexedRowMapper} with beans which aren't accessible from its package.
+ *
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class IndexedRowMapperAccessTest {
+    private final QPerson person = new QPerson();
+    private Connection connection;
+    private QueryExecutor executor;
+
+    static class Person {
+        private String name;
+        private int age;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE PERSON (NAME VARCHAR(64), AGE INT)");
+        statement.execute("INSERT INTO PERSON VALUES ('dilip', 30)");
+        statement.close();
+        executor = new QueryExecutor(connection);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    @Test
+    public void testPublicSettersOfPackagePrivateBean() {
+        SelectQueryBuilder query = person.select().list(person.name, person.age);
+        List<Person> persons = executor.query(query, IndexedRowMapper.of(Person.class, query));
+
+        assertEquals(1, persons.size());
+        assertEquals("dilip", persons.get(0).name);
+        assertEquals(30, persons.get(0).age);
+    }
+}
@@ -15,6 +15,7 @@
 package com.dilipkumarg.qb;
 
 import com.dilipkumarg.qb.models.AbstractSqlTable;
+import com.dilipkumarg.qb.models.LongColumn;
 import com.dilipkumarg.qb.models.TableColumn;
 
 /**
@@ -37,4 +38,5 @@ public class QPerson extends AbstractSqlTable {
     public TableColumn name = createTableColumn("NAME");
     public TableColumn lastName = createTableColumn("LAST_NAME");
     public TableColumn age = createTableColumn("AGE");
+    public LongColumn id = createLongColumn("ID");
 }
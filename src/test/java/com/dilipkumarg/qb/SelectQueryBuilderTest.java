@@ -14,13 +14,38 @@
  */
 package com.dilipkumarg.qb;
 
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import com.dilipkumarg.qb.core.ArgumentSink;
 import com.dilipkumarg.qb.core.JoinType;
+import com.dilipkumarg.qb.core.QueryRenderer;
+import com.dilipkumarg.qb.core.QueryShape;
+import com.dilipkumarg.qb.core.RenderCache;
+import com.dilipkumarg.qb.core.RenderCaches;
+import com.dilipkumarg.qb.dialect.Dialects;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.Aggregate;
+import com.dilipkumarg.qb.models.AggregateFunction;
+import com.dilipkumarg.qb.models.ColumnType;
+import com.dilipkumarg.qb.models.CompiledQuery;
+import com.dilipkumarg.qb.models.Conditions;
+import com.dilipkumarg.qb.models.DerivedTable;
 import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.dilipkumarg.qb.models.WhereCondition;
+import com.dilipkumarg.qb.models.WhereOperator;
+import com.google.common.collect.Lists;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Dilip Kumar.
@@ -224,5 +249,376 @@ public class SelectQueryBuilderTest {
         assertEquals("TEST", sqlQuery.getArgs()[0]);
     }
 
+    @Test
+    public void testCompile() {
+        CompiledQuery compiled = builder.list(person.name)
+                .where(person.name.eq("TEST"), person.age.gt(10))
+                .orderBy(person.age.asc())
+                .compile();
+        assertEquals(2, compiled.getArgumentCount());
+
+        SqlQuery sqlQuery = compiled.bind("OTHER", 20);
+        assertEquals("SELECT person.NAME FROM PERSON person WHERE person.NAME = ? AND person.AGE > ? ORDER BY " +
+                "person.AGE ASC", sqlQuery.getQuery());
+        assertEquals(builder.build().getQuery(), sqlQuery.getQuery());
+        assertEquals(2, sqlQuery.getArgs().length);
+        assertEquals("OTHER", sqlQuery.getArgs()[0]);
+        assertEquals(20, sqlQuery.getArgs()[1]);
+    }
+
+    @Test
+    public void testCompileNotAffectedByBuilderChanges() {
+        CompiledQuery compiled = builder.where(person.name.eq("TEST")).compile();
+        builder.where(person.age.gt(10));
+        assertEquals("SELECT * FROM PERSON person WHERE person.NAME = ?", compiled.bind("TEST").getQuery());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testCompiledInvalidArguments() {
+        builder.where(person.name.eq("TEST")).compile().bind("TEST", 20);
+    }
+
+    @Test
+    public void testIn() {
+        builder.where(person.name.in(Arrays.asList("A", "B", "C")), person.age.gt(10));
+        SqlQuery sqlQuery = builder.build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.NAME IN (?,?,?) AND person.AGE > ?",
+                sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{"A", "B", "C", 10}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testNotIn() {
+        builder.where(person.age.notIn(Arrays.asList(1, 2)));
+        SqlQuery sqlQuery = builder.build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.AGE NOT IN (?,?)", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{1, 2}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testBucketedIn() {
+        SqlQuery two = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2), true)).build();
+        SqlQuery three = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2, 3), true)).build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.AGE IN (?,?,?,?)", two.getQuery());
+        assertEquals(two.getQuery(), three.getQuery());
+        assertArrayEquals(new Object[]{1, 2, 2, 2}, two.getArgs());
+        assertArrayEquals(new Object[]{1, 2, 3, 3}, three.getArgs());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testEmptyIn() {
+        person.age.in(Arrays.asList());
+    }
+
+    @Test
+    public void testAggregates() {
+        SqlQuery sqlQuery = builder.list(Aggregate.countAll(), person.name.countDistinct(), person.age.sum(),
+                person.age.avg(), person.age.min(), person.age.max()).build();
+        assertEquals("SELECT COUNT(*),COUNT(DISTINCT person.NAME),SUM(person.AGE),AVG(person.AGE),MIN(person.AGE)," +
+                "MAX(person.AGE) FROM PERSON person", sqlQuery.getQuery());
+        assertEquals(0, sqlQuery.getArgs().length);
+    }
+
+    @Test
+    public void testGroupByHaving() {
+        SqlQuery sqlQuery = builder.list(person.lastName, person.age.max())
+                .where(person.age.gt(18))
+                .groupBy(person.lastName)
+                .having(Aggregate.countAll().ge(2), person.age.avg().lt(60))
+                .orderBy(person.lastName.asc())
+                .build();
+        assertEquals("SELECT person.LAST_NAME,MAX(person.AGE) FROM PERSON person WHERE person.AGE > ? GROUP BY " +
+                "person.LAST_NAME HAVING COUNT(*) >= ? AND AVG(person.AGE) < ? ORDER BY person.LAST_NAME ASC",
+                sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{18, 2, 60}, sqlQuery.getArgs());
+        assertNotEquals(builder.fingerprint(), person.select().list(person.lastName, person.age.min())
+                .where(person.age.gt(18)).groupBy(person.lastName).having(Aggregate.countAll().ge(2),
+                        person.age.avg().lt(60)).orderBy(person.lastName.asc()).fingerprint());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testAggregateWithoutColumn() {
+        new Aggregate(AggregateFunction.SUM, null, false);
+    }
+
+    @Test
+    public void testOrInJoinAndHaving() {
+        QPerson other = new QPerson("other");
+        SqlQuery sqlQuery = builder.list(person.lastName, Aggregate.countAll())
+                .innerJoin(other, Conditions.or(other.lastName.eq(person.lastName), other.name.eq(person.name)))
+                .groupBy(person.lastName)
+                .having(Conditions.or(Aggregate.countAll().gt(5), person.lastName.eq("A")))
+                .build();
+        assertEquals("SELECT person.LAST_NAME,COUNT(*) FROM PERSON person INNER JOIN PERSON other ON " +
+                "(other.LAST_NAME = person.LAST_NAME OR other.NAME = person.NAME) GROUP BY person.LAST_NAME " +
+                "HAVING COUNT(*) > ? OR person.LAST_NAME = ?", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{5, "A"}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testSeekAfterWithOr() {
+        SqlQuery sqlQuery = builder.where(Conditions.or(person.name.eq("A"), person.name.eq("B")))
+                .orderBy(person.age.asc())
+                .seekAfter(20)
+                .build();
+        assertEquals("SELECT * FROM PERSON person WHERE (person.NAME = ? OR person.NAME = ?) AND (person.AGE > ?) " +
+                "ORDER BY person.AGE ASC", sqlQuery.getQuery());
+    }
+
+    @Test
+    public void testInSubquery() {
+        QPerson other = new QPerson("other");
+        SqlQuery sqlQuery = builder.list(person.name)
+                .where(person.age.gt(18), person.lastName.in(other.select().list(other.lastName)
+                        .where(other.age.lt(10))), person.name.ne("X"))
+                .build();
+        assertEquals("SELECT person.NAME FROM PERSON person WHERE person.AGE > ? AND person.LAST_NAME IN (SELECT " +
+                "other.LAST_NAME FROM PERSON other WHERE other.AGE < ?) AND person.NAME <> ?", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{18, 10, "X"}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testSubqueryValuesUseOuterDialect() {
+        QPerson other = new QPerson("other");
+        RenderCache cache = new RenderCache();
+        RenderCaches.setCache(cache);
+        try {
+            WhereCondition condition = person.lastName.in(other.select().list(other.lastName)
+                    .where(other.age.lt(10)).limit(3));
+            SqlQuery sqlQuery = builder.where(condition).dialect(Dialects.SQL_SERVER).build();
+            assertEquals("SELECT * FROM PERSON person WHERE person.LAST_NAME IN (SELECT TOP (?) other.LAST_NAME " +
+                    "FROM PERSON other WHERE other.AGE < ?)", sqlQuery.getQuery());
+            assertEquals(Arrays.asList(sqlQuery.getArgs()), condition.getValues(Dialects.SQL_SERVER));
+            assertEquals(Arrays.<Object>asList(10, 3), condition.getValues());
+            // only the outer query is cached.
+            assertEquals(1, cache.size());
+        } finally {
+            RenderCaches.setCache(null);
+        }
+    }
+
+    @Test
+    public void testExists() {
+        QPerson other = new QPerson("other");
+        SelectQueryBuilder subquery = other.select().list(other.id).where(other.lastName.eq(person.lastName),
+                other.age.gt(60));
+        SqlQuery sqlQuery = builder.where(WhereCondition.notExists(subquery)).build();
+        assertEquals("SELECT * FROM PERSON person WHERE NOT EXISTS (SELECT other.ID FROM PERSON other WHERE " +
+                "other.LAST_NAME = person.LAST_NAME AND other.AGE > ?)", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{60}, sqlQuery.getArgs());
+
+        QueryShape shape = builder.fingerprint();
+        subquery.where(other.name.eq("A"));
+        assertNotEquals(shape, builder.fingerprint());
+    }
+
+    @Test
+    public void testDerivedTable() {
+        DerivedTable adults = person.select().list(person.lastName, person.age).where(person.age.ge(18))
+                .limit(100).as("adults");
+        TableColumn lastName = adults.createTableColumn("LAST_NAME");
+        SqlQuery sqlQuery = adults.select().dialect(Dialects.SQL_SERVER).list(lastName)
+                .where(adults.createTableColumn("AGE").lt(60))
+                .build();
+        assertEquals("SELECT adults.LAST_NAME FROM (SELECT TOP (?) person.LAST_NAME,person.AGE FROM PERSON person " +
+                "WHERE person.AGE >= ?) adults WHERE adults.AGE < ?", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{100, 18, 60}, sqlQuery.getArgs());
+    }
 
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testExistsWithoutSubquery() {
+        new WhereCondition(null, WhereOperator.EXISTS, 1);
+    }
+
+    @Test
+    public void testLimit() {
+        SqlQuery sqlQuery = builder.orderBy(person.age.asc()).limit(10).build();
+        assertEquals("SELECT * FROM PERSON person ORDER BY person.AGE ASC LIMIT ?", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{10}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testSeekAfter() {
+        SqlQuery sqlQuery = builder.orderBy(person.age.asc(), person.name.desc())
+                .seekAfter(20, "TEST")
+                .limit(10)
+                .build();
+        assertEquals("SELECT * FROM PERSON person WHERE (person.AGE > ? OR (person.AGE = ? AND person.NAME < ?)) " +
+                "ORDER BY person.AGE ASC,person.NAME DESC LIMIT ?", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{20, 20, "TEST", 10}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testSeekAfterWithWhere() {
+        SqlQuery sqlQuery = builder.where(person.lastName.eq("L"))
+                .orderBy(person.age.desc(), person.name.desc(), person.lastName.asc())
+                .seekAfter(20, "N", "L")
+                .build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.LAST_NAME = ? AND (person.AGE < ? OR " +
+                "(person.AGE = ? AND person.NAME < ?) OR (person.AGE = ? AND person.NAME = ? AND " +
+                "person.LAST_NAME > ?)) ORDER BY person.AGE DESC,person.NAME DESC,person.LAST_NAME ASC",
+                sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{"L", 20, 20, "N", 20, "N", "L"}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testRowValueSeek() {
+        SqlQuery sqlQuery = builder.orderBy(person.age.asc(), person.name.asc())
+                .seekAfter(20, "TEST")
+                .rowValueSeek()
+                .build();
+        assertEquals("SELECT * FROM PERSON person WHERE (person.AGE, person.NAME) > (?, ?) " +
+                "ORDER BY person.AGE ASC,person.NAME ASC", sqlQuery.getQuery());
+        assertArrayEquals(new Object[]{20, "TEST"}, sqlQuery.getArgs());
+    }
+
+    @Test
+    public void testRowValueSeekIsExpandedWithoutDialectSupport() {
+        SqlQuery sqlServer = builder.orderBy(person.age.asc(), person.id.asc())
+                .seekAfter(20, 5)
+                .rowValueSeek()
+                .limit(10)
+                .dialect(Dialects.SQL_SERVER)
+                .build();
+        assertEquals("SELECT TOP (?) * FROM PERSON person WHERE (person.AGE > ? OR (person.AGE = ? AND " +
+                "person.ID > ?)) ORDER BY person.AGE ASC,person.ID ASC", sqlServer.getQuery());
+        assertArrayEquals(new Object[]{10, 20, 20, 5}, sqlServer.getArgs());
+
+        SqlQuery oracle = builder.dialect(Dialects.ORACLE).build();
+        assertEquals("SELECT * FROM PERSON person WHERE (person.AGE > ? OR (person.AGE = ? AND person.ID > ?)) " +
+                "ORDER BY person.AGE ASC,person.ID ASC FETCH NEXT ? ROWS ONLY", oracle.getQuery());
+        assertArrayEquals(new Object[]{20, 20, 5, 10}, oracle.getArgs());
+    }
+
+    @Test
+    public void testRowValueSeekWithMixedOrder() {
+        SqlQuery sqlQuery = builder.orderBy(person.age.asc(), person.name.desc())
+                .seekAfter(20, "TEST")
+                .rowValueSeek()
+                .build();
+        assertEquals("SELECT * FROM PERSON person WHERE (person.AGE > ? OR (person.AGE = ? AND person.NAME < ?)) " +
+                "ORDER BY person.AGE ASC,person.NAME DESC", sqlQuery.getQuery());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testSeekAfterWithoutValues() {
+        builder.orderBy(person.age.asc(), person.name.desc()).seekAfter(20);
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testSeekAfterWithoutOrderBy() {
+        builder.seekAfter(20);
+    }
+
+    @Test
+    public void testSeekValuesAreCopied() {
+        Object[] lastSeen = {20, "TEST"};
+        builder.orderBy(person.age.asc(), person.name.desc()).seekAfter(lastSeen);
+        lastSeen[0] = 30;
+        assertArrayEquals(new Object[]{20, 20, "TEST"}, builder.build().getArgs());
+    }
+
+    @Test
+    public void testBuildToAppendable() {
+        QPerson person1 = new QPerson("p");
+        builder.list(person.name)
+                .leftJoin(person1, person.name.eq(person1.name), person1.age.gt(5))
+                .where(person.name.eq("TEST"))
+                .orderBy(person.age.asc());
+        final List<Object> args = Lists.newArrayList();
+        CharBuffer buffer = CharBuffer.allocate(256);
+        builder.build(buffer, new ArgumentSink() {
+            @Override
+            public void addArgument(Object value) {
+                args.add(value);
+            }
+        });
+        buffer.flip();
+
+        SqlQuery sqlQuery = builder.build();
+        assertEquals(sqlQuery.getQuery(), buffer.toString());
+        assertEquals(Arrays.asList(sqlQuery.getArgs()), args);
+        assertEquals(Arrays.<Object>asList(5, "TEST"), args);
+    }
+
+    @Test
+    public void testBuildVariantsMatchBuild() {
+        QPerson other = new QPerson("other");
+        builder.list(person.name)
+                .where(person.id.eq(7L), person.name.in(other.select().list(other.name).where(other.age.lt(3))
+                        .limit(2)), person.age.gt(18), person.age.lt(60))
+                .orderBy(person.age.asc())
+                .limit(10)
+                .dialect(Dialects.SQL_SERVER);
+        SqlQuery expected = builder.build();
+        assertArrayEquals(new Object[]{10, 7L, 2, 3, 18, 60}, expected.getArgs());
+
+        SqlQuery threadLocal = builder.build(QueryRenderer.threadLocal());
+        assertEquals(expected.getQuery(), threadLocal.getQuery());
+        assertArrayEquals(expected.getArgs(), threadLocal.getArgs());
+
+        SqlQuery fresh = builder.build(new QueryRenderer());
+        assertEquals(expected.getQuery(), fresh.getQuery());
+        assertArrayEquals(expected.getArgs(), fresh.getArgs());
+
+        final List<Object> args = Lists.newArrayList();
+        StringBuilder target = new StringBuilder();
+        builder.build(target, new ArgumentSink() {
+            @Override
+            public void addArgument(Object value) {
+                args.add(value);
+            }
+        });
+        assertEquals(expected.getQuery(), target.toString());
+        assertEquals(Arrays.asList(expected.getArgs()), args);
+    }
+
+    @Test
+    public void testPrimitiveArguments() {
+        SqlQuery query = builder.where(person.id.eq(100000L), person.name.eq("dilip")).limit(5).build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.ID = ? AND person.NAME = ? LIMIT ?", query.getQuery());
+        assertEquals(3, query.getArgumentsCount());
+        assertEquals(ColumnType.LONG, query.getArgumentType(0));
+        assertEquals(100000L, query.getArgumentBits(0));
+        assertEquals(ColumnType.OBJECT, query.getArgumentType(1));
+        assertArrayEquals(new Object[]{100000L, "dilip", 5}, query.getArgs());
+        assertSame(query.getArgs(), query.getArgs());
+    }
+
+    @Test
+    public void testReset() {
+        QPerson other = new QPerson("other");
+        builder.list(person.name).distinct().innerJoin(other, person.name.eq(other.name))
+                .where(person.age.gt(20)).orderBy(person.age.asc()).seekAfter(25).limit(10).offset(5)
+                .dialect(Dialects.MYSQL);
+        builder.build();
+        builder.reset();
+        assertEquals("SELECT * FROM PERSON person", builder.build().getQuery());
+        assertEquals(new SelectQueryBuilder(person).fingerprint(), builder.fingerprint());
+
+        SqlQuery query = builder.where(person.name.eq("dilip")).build();
+        assertEquals("SELECT * FROM PERSON person WHERE person.NAME = ?", query.getQuery());
+        assertArrayEquals(new Object[]{"dilip"}, query.getArgs());
+    }
+
+    @Test
+    public void testReusableSelect() throws Exception {
+        final SelectQueryBuilder reusable = person.reusableSelect().where(person.age.gt(20));
+        assertSame(reusable, person.reusableSelect());
+        assertEquals("SELECT * FROM PERSON person", reusable.build().getQuery());
+
+        final SelectQueryBuilder[] otherThread = new SelectQueryBuilder[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                otherThread[0] = person.reusableSelect();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotSame(reusable, otherThread[0]);
+
+        assertSame(reusable, new QPerson().reusableSelect());
+        assertNotSame(reusable, new QPerson("p").reusableSelect());
+    }
 }
@@ -17,10 +17,13 @@ package com.dilipkumarg.qb;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.dilipkumarg.qb.dialect.Dialects;
+import com.dilipkumarg.qb.dialect.SqlServerDialect;
 import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
 import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
 import com.dilipkumarg.qb.models.SqlQuery;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
@@ -119,4 +122,59 @@ public class UpdateQueryBuilderTest {
         assertEquals(20, query.getArgs()[2]);
         assertEquals("TEST", query.getArgs()[3]);
     }
+
+    @Test
+    public void testReset() throws DuplicateArgumentException {
+        builder.set(person.name, "Dilip").where(person.age, 23);
+        builder.build();
+        builder.reset();
+        builder.set(person.name, "Kumar");
+        assertEquals("UPDATE PERSON SET NAME=?", builder.build().getQuery());
+        assertEquals("UPDATE PERSON SET AGE=?", person.reusableUpdate().set(person.age, 1).build().getQuery());
+        assertEquals("UPDATE PERSON SET NAME=?", person.reusableUpdate().set(person.name, "a").build().getQuery());
+    }
+
+    private UpdateQueryBuilder joinedUpdate() throws DuplicateArgumentException {
+        QPerson other = new QPerson("other");
+        return builder.set(person.name, other.name).set(person.age, 30)
+                .innerJoin(other, person.lastName.eq(other.lastName), other.age.gt(other.id))
+                .where(other.name, "Dilip");
+    }
+
+    @Test
+    public void testUpdateFrom() throws DuplicateArgumentException {
+        SqlQuery query = joinedUpdate().dialect(Dialects.POSTGRESQL).build();
+        assertEquals("UPDATE PERSON person SET NAME=other.NAME,AGE=? FROM PERSON other WHERE person.LAST_NAME = " +
+                "other.LAST_NAME AND other.AGE > other.ID AND other.NAME = ?", query.getQuery());
+        assertArrayEquals(new Object[]{30, "Dilip"}, query.getArgs());
+    }
+
+    @Test
+    public void testUpdateJoin() throws DuplicateArgumentException {
+        SqlQuery query = joinedUpdate().dialect(Dialects.MYSQL).build();
+        assertEquals("UPDATE PERSON person INNER JOIN PERSON other ON (person.LAST_NAME = other.LAST_NAME AND " +
+                "other.AGE > other.ID) SET person.NAME=other.NAME,person.AGE=? WHERE other.NAME = ?",
+                query.getQuery());
+        assertArrayEquals(new Object[]{30, "Dilip"}, query.getArgs());
+    }
+
+    @Test
+    public void testUpdateFromJoin() throws DuplicateArgumentException {
+        SqlQuery query = joinedUpdate().dialect(new SqlServerDialect(true)).build();
+        assertEquals("UPDATE [person] SET [NAME]=[other].[NAME],[AGE]=? FROM [PERSON] [person] INNER JOIN " +
+                "[PERSON] [other] ON ([person].[LAST_NAME] = [other].[LAST_NAME] AND [other].[AGE] > [other].[ID]) " +
+                "WHERE [other].[NAME] = ?", query.getQuery());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testUpdateJoinNotSupported() throws DuplicateArgumentException {
+        joinedUpdate().dialect(Dialects.H2).build();
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testUpdateFromOuterJoin() throws DuplicateArgumentException {
+        QPerson other = new QPerson("other");
+        builder.set(person.name, other.name).leftJoin(other, person.id.eq(other.id)).dialect(Dialects.GENERIC)
+                .build();
+    }
 }
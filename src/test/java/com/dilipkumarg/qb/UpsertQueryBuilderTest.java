@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.dialect.MySqlDialect;
+import com.dilipkumarg.qb.dialect.OracleDialect;
+import com.dilipkumarg.qb.dialect.PostgreSqlDialect;
+import com.dilipkumarg.qb.dialect.SqlServerDialect;
+import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class UpsertQueryBuilderTest {
+    private QPerson person;
+    private UpsertQueryBuilder builder;
+
+    public UpsertQueryBuilderTest() {
+        person = new QPerson();
+    }
+
+    @Before
+    public void setUp() {
+        builder = person.upsert().columns(person.id, person.name, person.age)
+                .addRow(1L, "A", 10)
+                .addRow(2L, "B", 20)
+                .onConflict(person.id);
+    }
+
+    @Test
+    public void testOnConflict() {
+        SqlQuery query = builder.dialect(new PostgreSqlDialect()).build();
+        assertEquals("INSERT INTO PERSON (ID,NAME,AGE) VALUES (?,?,?),(?,?,?) ON CONFLICT (ID) DO UPDATE SET " +
+                "NAME=EXCLUDED.NAME,AGE=EXCLUDED.AGE", query.getQuery());
+        assertArrayEquals(new Object[]{1L, "A", 10, 2L, "B", 20}, query.getArgs());
+
+        assertEquals("INSERT INTO \"PERSON\" (\"ID\",\"NAME\",\"AGE\") VALUES (?,?,?),(?,?,?) ON CONFLICT (\"ID\")" +
+                " DO NOTHING", builder.dialect(new PostgreSqlDialect(true)).doNothing().build().getQuery());
+    }
+
+    @Test
+    public void testOnDuplicateKey() {
+        builder.dialect(new MySqlDialect()).update(person.age);
+        assertEquals("INSERT INTO PERSON (ID,NAME,AGE) VALUES (?,?,?),(?,?,?) ON DUPLICATE KEY UPDATE " +
+                "AGE=VALUES(AGE)", builder.build().getQuery());
+        assertEquals("INSERT INTO PERSON (ID,NAME,AGE) VALUES (?,?,?),(?,?,?) ON DUPLICATE KEY UPDATE ID=ID",
+                builder.doNothing().build().getQuery());
+    }
+
+    @Test
+    public void testMerge() {
+        assertEquals("MERGE INTO PERSON person USING (VALUES (?,?,?),(?,?,?)) src (ID,NAME,AGE) ON (person.ID = " +
+                "src.ID) WHEN MATCHED THEN UPDATE SET NAME=src.NAME,AGE=src.AGE WHEN NOT MATCHED THEN INSERT " +
+                "(ID,NAME,AGE) VALUES (src.ID,src.NAME,src.AGE)", builder.build().getQuery());
+        assertEquals("MERGE INTO PERSON person USING (VALUES (?,?,?),(?,?,?)) src (ID,NAME,AGE) ON (person.ID = " +
+                "src.ID) WHEN NOT MATCHED THEN INSERT (ID,NAME,AGE) VALUES (src.ID,src.NAME,src.AGE);",
+                builder.dialect(new SqlServerDialect()).doNothing().build().getQuery());
+    }
+
+    @Test
+    public void testMergeFromDual() throws DuplicateArgumentException {
+        SqlQuery query = person.upsert().dialect(new OracleDialect())
+                .set(person.id, 1L).set(person.name, "A")
+                .onConflict(person.id)
+                .build();
+        assertEquals("MERGE INTO PERSON person USING (SELECT ? ID,? NAME FROM DUAL) src ON (person.ID = src.ID) " +
+                "WHEN MATCHED THEN UPDATE SET NAME=src.NAME WHEN NOT MATCHED THEN INSERT (ID,NAME) VALUES " +
+                "(src.ID,src.NAME)", query.getQuery());
+        assertArrayEquals(new Object[]{1L, "A"}, query.getArgs());
+        assertEquals("MERGE INTO PERSON person USING (SELECT ? ID,? NAME,? AGE FROM DUAL UNION ALL SELECT ?,?,? " +
+                "FROM DUAL) src ON (person.ID = src.ID) WHEN MATCHED THEN UPDATE SET NAME=src.NAME,AGE=src.AGE " +
+                "WHEN NOT MATCHED THEN INSERT (ID,NAME,AGE) VALUES (src.ID,src.NAME,src.AGE)",
+                builder.dialect(new OracleDialect()).build().getQuery());
+    }
+
+    @Test
+    public void testFingerprint() {
+        UpsertQueryBuilder other = person.upsert().columns(person.id, person.name, person.age)
+                .addRow(3L, "C", 30)
+                .addRow(4L, "D", 40)
+                .onConflict(person.id);
+        assertEquals(builder.fingerprint(), other.fingerprint());
+        assertNotEquals(builder.fingerprint(), other.doNothing().fingerprint());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testMissingConflictColumns() {
+        person.upsert().columns(person.name).addRow("A").build();
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testConflictColumnNotInserted() {
+        person.upsert().columns(person.name).addRow("A").onConflict(person.id).build();
+    }
+}
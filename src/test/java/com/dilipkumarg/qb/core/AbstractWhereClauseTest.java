@@ -14,14 +14,29 @@
  */
 package com.dilipkumarg.qb.core;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.SqlQuery;
 import com.dilipkumarg.qb.models.WhereCondition;
 import com.dilipkumarg.qb.models.WhereOperator;
+import com.google.common.collect.Lists;
 
+import static com.dilipkumarg.qb.models.Conditions.and;
+import static com.dilipkumarg.qb.models.Conditions.not;
+import static com.dilipkumarg.qb.models.Conditions.or;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class AbstractWhereClauseTest {
     private AbstractWhereClause whereClause;
@@ -69,6 +84,91 @@ public class AbstractWhereClauseTest {
 
     @Test
     public void testBuildWhere() throws Exception {
+        whereClause.where(person.name.eq("TEST"), person.age.gt(10), person.lastName.eq(person.name));
+        SqlQuery query = whereClause.buildWhere();
+        assertEquals("WHERE NAME = ? AND AGE > ? AND LAST_NAME = NAME", query.getQuery());
+        assertArrayEquals(new Object[]{"TEST", 10}, query.getArgs());
+    }
+
+    @Test
+    public void testPredicateTree() {
+        whereClause.where(or(person.age.lt(18), and(person.age.ge(60), person.name.ne("A"))),
+                person.lastName.eq("B"));
+        SqlQuery query = whereClause.buildWhere();
+        assertEquals("WHERE (AGE < ? OR AGE >= ? AND NAME <> ?) AND LAST_NAME = ?", query.getQuery());
+        assertArrayEquals(new Object[]{18, 60, "A", "B"}, query.getArgs());
+    }
+
+    @Test
+    public void testNestedPredicates() {
+        whereClause.where(not(or(person.age.lt(18), person.age.gt(60))), and(person.name.eq("A"),
+                or(person.lastName.eq("B"), not(person.lastName.like("C%")))));
+        assertEquals("WHERE NOT (AGE < ? OR AGE > ?) AND NAME = ? AND (LAST_NAME = ? OR NOT LAST_NAME LIKE ?)",
+                whereClause.buildWhere().getQuery());
+
+        ShapeBuilder orShape = new ShapeBuilder();
+        or(person.age.lt(1), person.age.gt(2)).addShape(orShape);
+        ShapeBuilder andShape = new ShapeBuilder();
+        and(person.age.lt(1), person.age.gt(2)).addShape(andShape);
+        assertNotEquals(orShape.build(), andShape.build());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testEmptyOr() {
+        or();
+    }
+
+    @Test
+    public void testBuildWhereDoesNotModifyConditions() {
+        WhereCondition condition = person.age.gt(10);
+        whereClause.where(condition);
+        whereClause.buildWhere();
+        whereClause.buildWhere();
+        assertEquals(1, condition.getValues().size());
+        assertEquals(10, condition.getValues().get(0));
+        assertEquals(0, person.age.gt(person.name).getValues().size());
+    }
+
+    @Test
+    public void testConcurrentBuildWhere() throws Exception {
+        final int threads = 16;
+        final int iterations = 5000;
+        final WhereCondition shared1 = person.name.eq("TEST");
+        final WhereCondition shared2 = person.lastName.eq(person.name);
+        // one clause shared by all the threads, and the same conditions shared with per thread clauses.
+        final AbstractWhereClause sharedClause = new AliasBasedWhereClause().where(shared1, shared2);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = Lists.newArrayList();
+            for (int i = 0; i < threads; i++) {
+                final int age = i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int j = 0; j < iterations; j++) {
+                            SqlQuery shared = sharedClause.buildWhere();
+                            assertEquals("WHERE p.NAME = ? AND p.LAST_NAME = p.NAME", shared.getQuery());
+                            assertArrayEquals(new Object[]{"TEST"}, shared.getArgs());
 
+                            SqlQuery own = new NonAliasBasedWhereClause().where(shared1, person.age.eq(age),
+                                    shared2).buildWhere();
+                            assertEquals("WHERE NAME = ? AND AGE = ? AND LAST_NAME = NAME", own.getQuery());
+                            assertArrayEquals(new Object[]{"TEST", age}, own.getArgs());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                // rethrows assertion failures of the worker threads.
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
\ No newline at end of file
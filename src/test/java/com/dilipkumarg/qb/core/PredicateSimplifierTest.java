@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.models.Aggregate;
+import com.dilipkumarg.qb.models.ColumnType;
+import com.dilipkumarg.qb.models.Condition;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.WhereCondition;
+
+import static com.dilipkumarg.qb.models.Conditions.and;
+import static com.dilipkumarg.qb.models.Conditions.not;
+import static com.dilipkumarg.qb.models.Conditions.or;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class PredicateSimplifierTest {
+    private final QPerson person = new QPerson("p");
+
+    private List<Condition> simplify(Condition... conditions) {
+        return PredicateSimplifier.simplify(Arrays.asList(conditions));
+    }
+
+    @Test
+    public void testDuplicatesAreRemoved() {
+        WhereCondition name = person.name.eq("A");
+        assertEquals(Arrays.<Condition>asList(name, person.lastName.like("B%")),
+                simplify(name, person.lastName.like("B%"), person.name.eq("A"), and(name)));
+    }
+
+    @Test
+    public void testRangesAreMerged() {
+        assertEquals(Arrays.<Condition>asList(person.age.gt(20), person.age.le(30)),
+                simplify(person.age.gt(10), person.age.lt(40), person.age.gt(20), person.age.le(30)));
+        assertEquals(Arrays.<Condition>asList(person.age.gt(20)), simplify(person.age.ge(20), person.age.gt(20)));
+        assertEquals(Arrays.<Condition>asList(person.age.eq(20)), simplify(person.age.ge(20), person.age.le(20)));
+        // typed conditions are kept as they are.
+        List<Condition> typed = simplify(person.id.gt(5), person.id.gt(7));
+        assertSame(ColumnType.LONG, ((WhereCondition) typed.get(0)).getValueType());
+    }
+
+    @Test
+    public void testEqualitiesAreIntersected() {
+        assertEquals(Arrays.<Condition>asList(person.age.eq(20)),
+                simplify(person.age.in(Arrays.asList(10, 20, 30)), person.age.gt(15), person.age.ne(30)));
+        assertEquals(Arrays.<Condition>asList(person.age.in(Arrays.asList(20, 30), true)),
+                simplify(person.age.in(Arrays.asList(10, 20, 30)), person.age.notIn(Arrays.asList(10, 40))));
+        assertEquals(Arrays.<Condition>asList(person.age.gt(10), person.age.ne(20)),
+                simplify(person.age.gt(10), person.age.ne(5), person.age.ne(20)));
+    }
+
+    @Test
+    public void testContradictions() {
+        assertEquals(Collections.singletonList(PredicateSimplifier.NEVER), simplify(person.age.eq(1), person.age.eq(2)));
+        assertEquals(Collections.singletonList(PredicateSimplifier.NEVER), simplify(person.age.gt(10), person.age.lt(5)));
+        assertEquals(Collections.singletonList(PredicateSimplifier.NEVER), simplify(person.age.gt(10), person.age.le(10)));
+        assertEquals(Collections.singletonList(PredicateSimplifier.NEVER), simplify(person.name.eq("A"),
+                or(and(person.age.eq(1), person.age.ne(1)), and(person.age.lt(0), person.age.gt(0)))));
+        // open range between two integers can still match decimals.
+        assertEquals(2, simplify(person.age.gt(1), person.age.lt(2)).size());
+    }
+
+    @Test
+    public void testEqualitiesInOrAreCollapsed() {
+        assertEquals(Arrays.<Condition>asList(or(person.age.in(Arrays.<Object>asList(1, 2, 3), true),
+                person.name.eq("A"))),
+                simplify(or(person.age.eq(1), person.name.eq("A"), person.age.in(Arrays.asList(2, 3)),
+                        person.age.eq(1))));
+        assertEquals(Arrays.<Condition>asList(person.age.eq(1)),
+                simplify(or(person.age.eq(1), and(person.age.eq(2), person.age.eq(3)))));
+    }
+
+    @Test
+    public void testMergedInListsArePadded() {
+        // padding of the bucketed list is dropped while merging, merged values are padded to their own bucket.
+        List<Condition> merged = simplify(or(person.age.in(Arrays.asList(1, 2, 3), true), person.age.eq(4),
+                person.age.eq(5)));
+        assertEquals(Arrays.<Condition>asList(person.age.in(Arrays.asList(1, 2, 3, 4, 5), true)), merged);
+        assertEquals(16, ((WhereCondition) merged.get(0)).getValues().size());
+        assertEquals(Arrays.<Condition>asList(person.age.gt(0), person.age.lt(3),
+                person.age.notIn(Arrays.asList(1, 2), true)),
+                simplify(person.age.gt(0), person.age.notIn(Arrays.asList(1, 2, 3, 4, 5), true), person.age.lt(3)));
+    }
+
+    @Test
+    public void testStringsAndNullsAreNotCompared() {
+        // case insensitive collations can match both.
+        assertEquals(2, simplify(person.name.eq("a"), person.name.eq("A")).size());
+        assertEquals(2, simplify(person.age.eq(null), person.age.eq(1)).size());
+        assertEquals(2, simplify(person.age.gt(1), person.age.gt(2L)).size());
+    }
+
+    @Test
+    public void testNegationIsOnlyDeduplicated() {
+        Condition contradiction = and(person.age.eq(1), person.age.eq(2));
+        assertEquals(Arrays.<Condition>asList(not(contradiction)),
+                simplify(not(and(person.age.eq(1), person.age.eq(2), person.age.eq(1)))));
+    }
+
+    @Test
+    public void testProvablyEmptyQueries() {
+        SelectQueryBuilder builder = person.select().where(person.age.gt(30), person.age.lt(20)).simplify();
+        assertTrue(builder.isProvablyEmpty());
+        SqlQuery query = builder.build();
+        assertEquals("SELECT * FROM PERSON p WHERE 1 = 0", query.getQuery());
+        assertEquals(0, query.getArgs().length);
+
+        // aggregates without group by return a row for no rows.
+        assertFalse(person.select().list(Aggregate.countAll()).where(person.age.eq(1), person.age.eq(2))
+                .simplify().isProvablyEmpty());
+        assertTrue(person.select().list(Aggregate.countAll()).having(Aggregate.countAll().gt(5),
+                Aggregate.countAll().lt(2)).simplify().isProvablyEmpty());
+
+        SqlQuery simplified = person.select().where(person.age.gt(10), person.age.gt(20), person.name.eq("A"),
+                person.name.eq("A")).simplify().build();
+        assertEquals("SELECT * FROM PERSON p WHERE p.AGE > ? AND p.NAME = ?", simplified.getQuery());
+        assertArrayEquals(new Object[]{20, "A"}, simplified.getArgs());
+    }
+}
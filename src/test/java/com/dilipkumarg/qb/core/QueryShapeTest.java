@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.dilipkumarg.qb.DeleteQueryBuilder;
+import com.dilipkumarg.qb.InsertQueryBuilder;
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.UpdateQueryBuilder;
+import com.dilipkumarg.qb.dialect.Dialects;
+import com.dilipkumarg.qb.dialect.PostgreSqlDialect;
+import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class QueryShapeTest {
+    private final QPerson person = new QPerson();
+    private final QPerson other = new QPerson("other");
+
+    private SelectQueryBuilder select(Object name, int age) {
+        return new SelectQueryBuilder(person)
+                .list(person.name, person.age)
+                .innerJoin(other, person.name.eq(other.name))
+                .where(person.name.eq(name), person.age.gt(age))
+                .orderBy(person.age.asc())
+                .limit(10);
+    }
+
+    @Test
+    public void testValuesAreIgnored() {
+        QueryShape first = select("dilip", 20).fingerprint();
+        QueryShape second = select("kumar", 30).fingerprint();
+        assertEquals(first, second);
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(select("dilip", 20).build().getQuery(), select("kumar", 30).build().getQuery());
+    }
+
+    @Test
+    public void testStructureChangesShape() {
+        QueryShape shape = select("dilip", 20).fingerprint();
+        assertNotEquals(shape, select("dilip", 20).distinct().fingerprint());
+        assertNotEquals(shape, select("dilip", 20).offset(5).fingerprint());
+        assertNotEquals(shape, select("dilip", 20).where(person.lastName.eq("g")).fingerprint());
+        assertNotEquals(shape, select("dilip", 20).seekAfter(20).fingerprint());
+        assertNotEquals(shape, select("dilip", 20).dialect(Dialects.MYSQL).fingerprint());
+        assertNotEquals(shape, select(person.lastName, 20).fingerprint());
+        assertNotEquals(shape.getHash(), select("dilip", 20).distinct().fingerprint().getHash());
+    }
+
+    @Test
+    public void testInListSize() {
+        SelectQueryBuilder two = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2)));
+        SelectQueryBuilder otherTwo = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(3, 4)));
+        SelectQueryBuilder three = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2, 3)));
+        SelectQueryBuilder bucketed = new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2, 3), true));
+        SelectQueryBuilder bucketedFour = new SelectQueryBuilder(person)
+                .where(person.age.in(Arrays.asList(1, 2, 3, 4), true));
+        assertEquals(two.fingerprint(), otherTwo.fingerprint());
+        assertNotEquals(two.fingerprint(), three.fingerprint());
+        assertEquals(bucketed.fingerprint(), bucketedFour.fingerprint());
+    }
+
+    @Test
+    public void testEqualDialects() {
+        SelectQueryBuilder first = new SelectQueryBuilder(person).dialect(new PostgreSqlDialect(true));
+        SelectQueryBuilder second = new SelectQueryBuilder(person).dialect(new PostgreSqlDialect(true));
+        SelectQueryBuilder unquoted = new SelectQueryBuilder(person).dialect(new PostgreSqlDialect(false));
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertNotEquals(first.fingerprint(), unquoted.fingerprint());
+    }
+
+    @Test
+    public void testBuilderTypes() throws DuplicateArgumentException {
+        QueryShape update = new UpdateQueryBuilder(person).set(person.name, "a").where(person.age, 1).fingerprint();
+        assertEquals(update,
+                new UpdateQueryBuilder(person).set(person.name, "b").where(person.age, 2).fingerprint());
+        assertNotEquals(update,
+                new UpdateQueryBuilder(person).set(person.age, 1).where(person.age, 2).fingerprint());
+
+        QueryShape delete = new DeleteQueryBuilder(person).where(person.age, 1).fingerprint();
+        assertEquals(delete, new DeleteQueryBuilder(person).where(person.age, 5).fingerprint());
+        assertFalse(delete.equals(new SelectQueryBuilder(person).where(person.age, 1).fingerprint()));
+
+        QueryShape insert = new InsertQueryBuilder(person).set(person.name, "a").set(person.age, 1).fingerprint();
+        assertEquals(insert, new InsertQueryBuilder(person).set(person.name, "b").set(person.age, 2).fingerprint());
+        assertNotEquals(insert, new InsertQueryBuilder(person).set(person.age, 2).set(person.name, "b").fingerprint());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.core;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.models.DerivedTable;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class RenderCacheTest {
+    private final QPerson person = new QPerson();
+
+    @After
+    public void tearDown() {
+        RenderCaches.setCache(null);
+    }
+
+    private QueryShape shape(int inSize) {
+        List<Integer> values = Lists.newArrayList();
+        for (int i = 0; i < inSize; i++) {
+            values.add(i);
+        }
+        return new SelectQueryBuilder(person).where(person.age.in(values)).fingerprint();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        RenderCache cache = new RenderCache(2, 1);
+        cache.put(shape(1), "one");
+        cache.put(shape(2), "two");
+        assertEquals("one", cache.get(shape(1)));
+        cache.put(shape(3), "three");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(shape(2)));
+        assertEquals("one", cache.get(shape(1)));
+        assertEquals("three", cache.get(shape(3)));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        RenderCache cache = new RenderCache(10, 64);
+        for (int i = 1; i <= 100; i++) {
+            cache.put(shape(i), "query" + i);
+        }
+        assertTrue(cache.size() <= 10);
+        assertEquals(100 - cache.size(), cache.getEvictions());
+    }
+
+    @Test
+    public void testBuildUsesCache() {
+        RenderCache cache = new RenderCache();
+        RenderCaches.setCache(cache);
+
+        SqlQuery first = new SelectQueryBuilder(person).where(person.name.eq("dilip"), person.age.gt(20)).build();
+        SqlQuery second = new SelectQueryBuilder(person).where(person.name.eq("kumar"), person.age.gt(30)).build();
+
+        assertEquals("SELECT * FROM PERSON person WHERE person.NAME = ? AND person.AGE > ?", second.getQuery());
+        assertSame(first.getQuery(), second.getQuery());
+        assertArrayEquals(new Object[]{"kumar", 30}, second.getArgs());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testSeekWithCache() {
+        RenderCaches.setCache(new RenderCache());
+        SelectQueryBuilder builder = new SelectQueryBuilder(person).orderBy(person.age.asc()).limit(10);
+        SqlQuery first = builder.seekAfter(20).build();
+        SqlQuery second = builder.seekAfter(30).build();
+        assertEquals(first.getQuery(), second.getQuery());
+        assertArrayEquals(new Object[]{30, 10}, second.getArgs());
+    }
+
+    @Test
+    public void testSubqueryChangesWithCache() {
+        RenderCaches.setCache(new RenderCache());
+        SelectQueryBuilder subquery = new SelectQueryBuilder(person).list(person.age).where(person.age.gt(18));
+        SelectQueryBuilder builder = subquery.as("adults").select();
+        SqlQuery first = builder.build();
+        subquery.where(person.name.eq("dilip"));
+        SqlQuery second = builder.build();
+        assertEquals("SELECT * FROM (SELECT person.AGE FROM PERSON person WHERE person.AGE > ? AND person.NAME = ?) " +
+                "adults", second.getQuery());
+        assertArrayEquals(new Object[]{18, "dilip"}, second.getArgs());
+        assertEquals(1, first.getArgs().length);
+    }
+
+    @Test
+    public void testConcurrentBuilds() throws Exception {
+        RenderCache cache = new RenderCache(8);
+        RenderCaches.setCache(cache);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Void>> futures = Lists.newArrayList();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int i = 0; i < 2000; i++) {
+                            List<Integer> values = Lists.newArrayList();
+                            for (int v = 0; v <= i % 16; v++) {
+                                values.add(v);
+                            }
+                            SqlQuery query = new SelectQueryBuilder(person).where(person.age.in(values)).build();
+                            assertEquals(values.size(), query.getArgs().length);
+                            assertEquals(values.size(), query.getQuery().split("\\?", -1).length - 1);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 8);
+        assertEquals(8 * 2000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testEqualDerivedTableQueriesShareEntry() {
+        RenderCache cache = new RenderCache(16, 1);
+        RenderCaches.setCache(cache);
+        for (int i = 0; i < 5; i++) {
+            DerivedTable adults = person.select().list(person.name).where(person.age.gt(18 + i)).as("adults");
+            TableColumn name = adults.createTableColumn("NAME");
+            SqlQuery query = adults.select().list(name).where(name.like("A%")).orderBy(name.asc()).build();
+            assertEquals("SELECT adults.NAME FROM (SELECT person.NAME FROM PERSON person WHERE person.AGE > ?) " +
+                    "adults WHERE adults.NAME LIKE ? ORDER BY adults.NAME ASC", query.getQuery());
+            assertArrayEquals(new Object[]{18 + i, "A%"}, query.getArgs());
+        }
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+}
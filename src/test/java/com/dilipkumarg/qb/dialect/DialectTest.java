@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.dialect;
+
+import org.junit.Test;
+
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
+import com.dilipkumarg.qb.models.SqlQuery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DialectTest {
+    private final QPerson person = new QPerson("p");
+
+    private SqlQuery page(Dialect dialect, Integer limit, Integer offset) {
+        SelectQueryBuilder builder = person.select().dialect(dialect).where(person.name.eq("A"));
+        if (limit != null) {
+            builder.limit(limit);
+        }
+        if (offset != null) {
+            builder.offset(offset);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testLimitOffset() {
+        for (Dialect dialect : new Dialect[]{Dialects.GENERIC, Dialects.POSTGRESQL, Dialects.H2, Dialects.MYSQL}) {
+            SqlQuery query = page(dialect, 10, 20);
+            assertEquals(dialect.getName(), "SELECT * FROM PERSON p WHERE p.NAME = ? LIMIT ? OFFSET ?",
+                    query.getQuery());
+            assertArrayEquals(new Object[]{"A", 10, 20}, query.getArgs());
+        }
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? LIMIT ?", page(Dialects.POSTGRESQL, 10, null)
+                .getQuery());
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? OFFSET ?", page(Dialects.POSTGRESQL, null, 20)
+                .getQuery());
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? LIMIT 18446744073709551615 OFFSET ?",
+                page(Dialects.MYSQL, null, 20).getQuery());
+    }
+
+    @Test
+    public void testSqlServer() {
+        SqlQuery top = page(Dialects.SQL_SERVER, 10, null);
+        assertEquals("SELECT TOP (?) * FROM PERSON p WHERE p.NAME = ?", top.getQuery());
+        assertArrayEquals(new Object[]{10, "A"}, top.getArgs());
+
+        SqlQuery offset = page(Dialects.SQL_SERVER, 10, 20);
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? " +
+                "ROWS ONLY", offset.getQuery());
+        assertArrayEquals(new Object[]{"A", 20, 10}, offset.getArgs());
+
+        SqlQuery ordered = person.select().dialect(Dialects.SQL_SERVER).orderBy(person.age.asc()).offset(20).build();
+        assertEquals("SELECT * FROM PERSON p ORDER BY p.AGE ASC OFFSET ? ROWS", ordered.getQuery());
+    }
+
+    @Test
+    public void testOracle() {
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? FETCH NEXT ? ROWS ONLY",
+                page(Dialects.ORACLE, 10, null).getQuery());
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = ? OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+                page(Dialects.ORACLE, 10, 20).getQuery());
+    }
+
+    @Test
+    public void testQuotedIdentifiers() {
+        SqlQuery query = person.select().dialect(new PostgreSqlDialect(true)).list(person.name)
+                .where(person.age.gt(10)).build();
+        assertEquals("SELECT \"p\".\"NAME\" FROM \"PERSON\" \"p\" WHERE \"p\".\"AGE\" > ?", query.getQuery());
+
+        assertEquals("SELECT `p`.`NAME` FROM `PERSON` `p`",
+                person.select().dialect(new MySqlDialect(true)).list(person.name).build().getQuery());
+        assertEquals("DELETE FROM [PERSON] WHERE [NAME] = ?",
+                person.delete().dialect(new SqlServerDialect(true)).where(person.name.eq("A")).build().getQuery());
+    }
+
+    @Test
+    public void testQuotedInsert() throws DuplicateArgumentException {
+        assertEquals("INSERT INTO \"PERSON\" (\"NAME\") VALUES (?)",
+                person.insert().dialect(new H2Dialect(true)).set(person.name, "A").build().getQuery());
+    }
+
+    @Test
+    public void testBooleanLiterals() {
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = TRUE AND p.AGE = FALSE",
+                person.select().dialect(Dialects.POSTGRESQL).where(person.name.isTrue(), person.age.isFalse())
+                        .build().getQuery());
+        SqlQuery query = person.select().dialect(Dialects.SQL_SERVER).where(person.name.isTrue()).build();
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = 1", query.getQuery());
+        assertEquals(0, query.getArgs().length);
+        assertEquals("SELECT * FROM PERSON p WHERE p.NAME = 0",
+                person.select().dialect(Dialects.ORACLE).where(person.name.isFalse()).build().getQuery());
+    }
+
+    @Test
+    public void testRowValueComparison() {
+        for (Dialect dialect : new Dialect[]{Dialects.GENERIC, Dialects.POSTGRESQL, Dialects.H2, Dialects.MYSQL}) {
+            assertTrue(dialect.getName(), dialect.supportsRowValueComparison());
+        }
+        assertFalse(Dialects.SQL_SERVER.supportsRowValueComparison());
+        assertFalse(Dialects.ORACLE.supportsRowValueComparison());
+    }
+}
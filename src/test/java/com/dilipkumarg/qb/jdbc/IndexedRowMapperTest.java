@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.models.Aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class IndexedRowMapperTest {
+    private final QPerson person = new QPerson();
+    private Connection connection;
+    private QueryExecutor executor;
+
+    public static class Person {
+        private long id;
+        private String name;
+        private String lastName;
+        private Integer age;
+        private int nameSets;
+
+        public void setName(String name) {
+            this.name = name;
+            nameSets++;
+        }
+    }
+
+    public static class LastNameCount {
+        String surname;
+        long count;
+
+        private LastNameCount() {
+        }
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE TABLE PERSON (ID BIGINT, NAME VARCHAR(64), LAST_NAME VARCHAR(64), AGE INT)");
+        statement.execute("INSERT INTO PERSON VALUES (1, 'dilip', 'kumar', 30), (2, 'ravi', 'kumar', NULL), " +
+                "(3, 'john', 'doe', 40)");
+        statement.close();
+        executor = new QueryExecutor(connection);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    @Test
+    public void testColumnsAreMappedByIndex() {
+        SelectQueryBuilder query = person.select().list(person.age, person.id, person.name, person.lastName)
+                .orderBy(person.id.asc());
+        List<Person> persons = executor.query(query, IndexedRowMapper.of(Person.class, query));
+
+        assertEquals(3, persons.size());
+        Person first = persons.get(0);
+        assertEquals(1L, first.id);
+        assertEquals("dilip", first.name);
+        assertEquals(1, first.nameSets);
+        assertEquals("kumar", first.lastName);
+        assertEquals(Integer.valueOf(30), first.age);
+        assertNull(persons.get(1).age);
+    }
+
+    @Test
+    public void testExplicitlyMappedExpressions() {
+        Aggregate count = Aggregate.countAll();
+        SelectQueryBuilder query = person.select().list(person.lastName, count).groupBy(person.lastName)
+                .orderBy(person.lastName.asc());
+        IndexedRowMapper<LastNameCount> mapper = IndexedRowMapper.builder(LastNameCount.class, query)
+                .map(person.lastName, "surname").map(count, "count").build();
+        List<LastNameCount> counts = executor.query(query, mapper);
+
+        assertEquals(2, counts.size());
+        assertEquals("doe", counts.get(0).surname);
+        assertEquals(1L, counts.get(0).count);
+        assertEquals("kumar", counts.get(1).surname);
+        assertEquals(2L, counts.get(1).count);
+    }
+
+    @Test
+    public void testInvalidMappings() {
+        try {
+            IndexedRowMapper.of(Person.class, person.select());
+            fail("Columns of select * aren't known");
+        } catch (QueryBuilderRuntimeException e) {
+            // expected.
+        }
+        try {
+            IndexedRowMapper.of(LastNameCount.class, person.select().list(person.name));
+            fail("LastNameCount doesn't have name property");
+        } catch (QueryBuilderRuntimeException e) {
+            // expected.
+        }
+        QPerson other = new QPerson("other");
+        try {
+            IndexedRowMapper.of(Person.class, person.select().list(person.name, other.name));
+            fail("Both the columns are mapped to name");
+        } catch (QueryBuilderRuntimeException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testPropertyNames() {
+        assertEquals("lastName", IndexedRowMapper.propertyName("LAST_NAME"));
+        assertEquals("id", IndexedRowMapper.propertyName("ID"));
+        assertEquals("name", IndexedRowMapper.propertyName("_NAME"));
+        assertEquals("lastName", IndexedRowMapper.propertyName("LastName"));
+    }
+}
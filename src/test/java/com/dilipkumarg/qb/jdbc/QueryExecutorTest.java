@@ -0,0 +1,427 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.BatchInsertQueryBuilder;
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.exceptions.DuplicateArgumentException;
+import com.dilipkumarg.qb.exceptions.QueryBuilderRuntimeException;
+import com.dilipkumarg.qb.exceptions.QueryExecutionException;
+import com.dilipkumarg.qb.models.Aggregate;
+import com.dilipkumarg.qb.models.BatchSqlQuery;
+import com.dilipkumarg.qb.models.DerivedTable;
+import com.dilipkumarg.qb.models.SqlQuery;
+import com.dilipkumarg.qb.models.TableColumn;
+import com.dilipkumarg.qb.models.WhereCondition;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Dilip Kumar.
+ * @since 18/10/26
+ */
+public class QueryExecutorTest {
+    private static final RowMapper<String> NAME_MAPPER = new RowMapper<String>() {
+        @Override
+        public String mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+            return resultSet.getString(1);
+        }
+    };
+
+    private final QPerson person = new QPerson();
+    private final AtomicInteger prepareCount = new AtomicInteger();
+    private PreparedStatement lastPrepared;
+    private Connection connection;
+    private QueryExecutor executor;
+
+    @Before
+    public void setUp() throws SQLException {
+        final Connection target = DriverManager.getConnection("jdbc:h2:mem:");
+        Statement statement = target.createStatement();
+        statement.execute("CREATE TABLE PERSON (ID BIGINT, NAME VARCHAR(64), LAST_NAME VARCHAR(64), AGE INT)");
+        statement.close();
+        // counts prepareStatement calls to verify statement reuse.
+        connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("prepareStatement")) {
+                            prepareCount.incrementAndGet();
+                        }
+                        try {
+                            Object result = method.invoke(target, args);
+                            if (result instanceof PreparedStatement) {
+                                lastPrepared = (PreparedStatement) result;
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        executor = new QueryExecutor(connection);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    private void insert(String name, String lastName, Integer age) throws DuplicateArgumentException {
+        assertEquals(1, executor.update(person.insert().set(person.name, name).set(person.lastName, lastName)
+                .set(person.age, age)));
+    }
+
+    @Test
+    public void testStatementsAreReused() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+        insert("john", null, 40);
+        assertEquals(1, prepareCount.get());
+
+        for (int age = 20; age < 30; age++) {
+            List<String> names = executor.query(person.select().list(person.name).where(person.age.gt(age))
+                    .orderBy(person.name.asc()), NAME_MAPPER);
+            assertEquals(age < 25 ? Arrays.asList("dilip", "john", "ravi") : Arrays.asList("dilip", "john"), names);
+        }
+        assertEquals(2, prepareCount.get());
+        assertEquals(2, executor.getStatements().size());
+    }
+
+    @Test
+    public void testUpdate() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+        assertEquals(2, executor.update(person.update().set(person.age, 50).where(person.lastName, "kumar")));
+        assertEquals(0, executor.update(person.delete().where(person.age.lt(50))));
+        assertEquals(Arrays.asList("dilip"), executor.query(person.select().list(person.name)
+                .where(person.name.in(Arrays.asList("dilip", "x"))), NAME_MAPPER));
+    }
+
+    @Test
+    public void testBatch() {
+        BatchInsertQueryBuilder builder = person.batchInsert().columns(person.name, person.age);
+        for (int i = 0; i < 10; i++) {
+            builder.addRow("name" + i, i);
+        }
+        int[] counts = executor.batch(builder.buildBatch());
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, counts);
+        assertEquals(10, executor.query(person.select().list(person.name), NAME_MAPPER).size());
+        assertEquals(5, executor.query(person.select().list(person.name).where(person.age.ge(5)), NAME_MAPPER)
+                .size());
+    }
+
+    @Test
+    public void testFailedStatementIsEvicted() {
+        SqlQuery query = new SqlQuery("SELECT MISSING_COLUMN FROM PERSON");
+        try {
+            executor.query(query, NAME_MAPPER);
+            fail("Expected QueryExecutionException");
+        } catch (QueryExecutionException e) {
+            assertEquals(query.getQuery(), e.getQuery());
+            assertTrue(e.getSQLException() != null);
+        }
+        assertEquals(0, executor.getStatements().size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsClosed() throws SQLException {
+        StatementCache cache = new StatementCache(connection, 1);
+        PreparedStatement first = cache.prepare("SELECT 1");
+        cache.prepare("SELECT 2");
+        assertTrue(first.isClosed());
+        assertEquals(1, cache.size());
+        cache.close();
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = QueryBuilderRuntimeException.class)
+    public void testStatementCacheRejectsZeroSize() {
+        new StatementCache(connection, 0);
+    }
+
+    @Test
+    public void testPrimitiveArguments() throws DuplicateArgumentException {
+        executor.update(person.insert().set(person.id, 5000000000L).set(person.name, "dilip"));
+        executor.update(person.insert().set(person.id, 7L).set(person.name, "ravi"));
+        assertEquals(Arrays.asList("dilip"), executor.query(person.select().list(person.name)
+                .where(person.id.eq(5000000000L)), NAME_MAPPER));
+        assertEquals(Arrays.asList("ravi"), executor.query(person.select().list(person.name)
+                .where(person.id.lt(100)), NAME_MAPPER));
+    }
+
+    @Test
+    public void testUpsert() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        executor.update(person.update().set(person.id, 1L).where(person.name, "dilip"));
+        // MERGE of H2, updates the first row and inserts the second one.
+        int count = executor.update(person.upsert().columns(person.id, person.name, person.age)
+                .addRow(1L, "dilip", 31)
+                .addRow(2L, "ravi", 25)
+                .onConflict(person.id)
+                .update(person.age));
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("dilip"), executor.query(person.select().list(person.name)
+                .where(person.age.eq(31)), NAME_MAPPER));
+        assertEquals(2, executor.query(person.select().list(person.name), NAME_MAPPER).size());
+    }
+
+    @Test
+    public void testGroupBy() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+        insert("john", "doe", 40);
+        List<String> rows = executor.query(person.select().list(person.lastName, Aggregate.countAll(),
+                person.age.sum()).groupBy(person.lastName).having(person.age.max().gt(35)), new RowMapper<String>() {
+            @Override
+            public String mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+                return resultSet.getString(1) + ":" + resultSet.getInt(2) + ":" + resultSet.getInt(3);
+            }
+        });
+        assertEquals(Arrays.asList("doe:1:40"), rows);
+    }
+
+    @Test
+    public void testSubqueries() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+        insert("john", "doe", 40);
+        QPerson other = new QPerson("other");
+        List<String> names = executor.query(person.select().list(person.name)
+                .where(WhereCondition.exists(other.select().list(other.name)
+                        .where(other.lastName.eq(person.lastName), other.age.lt(28))))
+                .orderBy(person.name.asc()), NAME_MAPPER);
+        assertEquals(Arrays.asList("dilip", "ravi"), names);
+
+        DerivedTable young = other.select().list(other.name).where(other.age.lt(35)).as("young");
+        TableColumn youngName = young.createTableColumn("NAME");
+        assertEquals(Arrays.asList("dilip"), executor.query(young.select().list(youngName)
+                .where(youngName.in(person.select().list(person.name).where(person.lastName.eq("kumar"),
+                        person.age.gt(26)))), NAME_MAPPER));
+    }
+
+    @Test
+    public void testProvablyEmptyQueriesAreNotExecuted() throws DuplicateArgumentException {
+        insert("dilip", "kumar", 30);
+        int prepared = prepareCount.get();
+        assertEquals(0, executor.query(person.select().list(person.name).where(person.age.eq(30), person.age.eq(31))
+                .simplify(), NAME_MAPPER).size());
+        assertEquals(0, executor.update(person.delete().where(person.age.gt(40), person.age.lt(20)).simplify()));
+        assertEquals(prepared, prepareCount.get());
+        assertEquals(Arrays.asList("dilip"), executor.query(person.select().list(person.name)
+                .where(person.age.ge(30), person.age.le(30)).simplify(), NAME_MAPPER));
+    }
+
+    @Test
+    public void testCursor() throws SQLException {
+        BatchInsertQueryBuilder insert = person.batchInsert().columns(person.name, person.age);
+        for (int i = 0; i < 100; i++) {
+            insert.addRow("person" + i, i);
+        }
+        executor.batch(insert.buildBatch());
+        int cached = executor.getStatements().size();
+
+        Cursor<String> cursor = executor.cursor(person.select().list(person.name).orderBy(person.age.asc()),
+                NAME_MAPPER, 10);
+        PreparedStatement statement = lastPrepared;
+        assertEquals(10, statement.getFetchSize());
+        assertEquals(ResultSet.TYPE_FORWARD_ONLY, statement.getResultSetType());
+        assertEquals(ResultSet.CONCUR_READ_ONLY, statement.getResultSetConcurrency());
+        assertEquals(cached, executor.getStatements().size());
+
+        assertEquals("person0", cursor.next());
+        // cursor stays valid while the executor runs other queries.
+        assertEquals(Arrays.asList("person1"), executor.query(person.select().list(person.name)
+                .where(person.age.eq(1)), NAME_MAPPER));
+        int count = 1;
+        while (cursor.hasNext()) {
+            assertEquals("person" + count++, cursor.next());
+        }
+        assertEquals(100, count);
+        assertTrue(cursor.isClosed());
+        assertTrue(statement.isClosed());
+        try {
+            cursor.next();
+            fail("Cursor is at the end");
+        } catch (NoSuchElementException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void testCursorIsClosedWhenMapperFails() throws DuplicateArgumentException, SQLException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+
+        Cursor<String> cursor = executor.cursor(person.select().list(person.name).orderBy(person.age.asc()),
+                new RowMapper<String>() {
+                    @Override
+                    public String mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+                        if (rowNum == 1) {
+                            throw new IllegalStateException("mapping failed");
+                        }
+                        return resultSet.getString(1);
+                    }
+                }, 0);
+        PreparedStatement statement = lastPrepared;
+        assertEquals("ravi", cursor.next());
+        try {
+            cursor.next();
+            fail("Mapper should fail");
+        } catch (IllegalStateException e) {
+            assertEquals("mapping failed", e.getMessage());
+        }
+        assertTrue(cursor.isClosed());
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    public void testCursorStream() throws DuplicateArgumentException, SQLException {
+        insert("dilip", "kumar", 30);
+        insert("ravi", "kumar", 25);
+        insert("john", null, 40);
+
+        Cursor<String> cursor = executor.cursor(person.select().list(person.name).where(person.age.gt(20))
+                .orderBy(person.age.asc()), NAME_MAPPER, 0);
+        PreparedStatement statement = lastPrepared;
+        Stream<String> names = cursor.stream();
+        try {
+            assertEquals(Arrays.asList("ravi", "dilip"), names.limit(2).collect(Collectors.toList()));
+        } finally {
+            names.close();
+        }
+        assertTrue(cursor.isClosed());
+        assertTrue(statement.isClosed());
+
+        int prepared = prepareCount.get();
+        Cursor<String> empty = executor.cursor(person.select().where(person.age.gt(40), person.age.lt(20))
+                .simplify(), NAME_MAPPER, 10);
+        assertFalse(empty.hasNext());
+        empty.close();
+        assertEquals(prepared, prepareCount.get());
+    }
+
+    @Test
+    public void testBatchFailureIsKeptWhenClearFails() {
+        final List<String> calls = new ArrayList<String>();
+        final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{PreparedStatement.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("getParameterMetaData")) {
+                            throw new SQLFeatureNotSupportedException("no metadata");
+                        } else if (name.equals("executeBatch")) {
+                            throw new SQLException("batch failed");
+                        } else if (name.equals("clearBatch")) {
+                            throw new SQLException("clear failed");
+                        }
+                        calls.add(name + (args == null ? "" : Arrays.asList(args)));
+                        return null;
+                    }
+                });
+        Connection failing = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{Connection.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return method.getName().equals("prepareStatement") ? statement : null;
+                    }
+                });
+        List<Object[]> rows = new ArrayList<Object[]>();
+        rows.add(new Object[]{null});
+        try {
+            new QueryExecutor(failing).batch(new BatchSqlQuery("INSERT INTO PERSON (NAME) VALUES (?)", rows));
+            fail("Batch should fail");
+        } catch (QueryExecutionException e) {
+            assertEquals("batch failed", e.getSQLException().getMessage());
+            assertEquals("clear failed", e.getSQLException().getSuppressed()[0].getMessage());
+        }
+        // null is bound with setObject when the parameter type isn't known.
+        assertEquals(Arrays.asList("setObject[1, null]", "addBatch", "close"), calls);
+    }
+
+    @Test
+    public void testParameterMetaDataIsFetchedOncePerStatement() {
+        final AtomicInteger metaDataCalls = new AtomicInteger();
+        final List<String> calls = new ArrayList<String>();
+        final ParameterMetaData metaData = (ParameterMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{ParameterMetaData.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return Types.VARCHAR;
+                    }
+                });
+        final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{PreparedStatement.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        String name = method.getName();
+                        if (name.equals("getParameterMetaData")) {
+                            metaDataCalls.incrementAndGet();
+                            return metaData;
+                        } else if (name.equals("executeBatch")) {
+                            return new int[]{1, 1};
+                        }
+                        calls.add(name + (args == null ? "" : Arrays.asList(args)));
+                        return null;
+                    }
+                });
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{Connection.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return method.getName().equals("prepareStatement") ? statement : null;
+                    }
+                });
+        List<Object[]> rows = new ArrayList<Object[]>();
+        rows.add(new Object[]{null, null});
+        rows.add(new Object[]{"john", null});
+        new QueryExecutor(connection).batch(new BatchSqlQuery("INSERT INTO PERSON (NAME, LAST_NAME) VALUES (?, ?)",
+                rows));
+        assertEquals(1, metaDataCalls.get());
+        assertEquals(Arrays.asList("setNull[1, 12]", "setNull[2, 12]", "addBatch", "setString[1, john]",
+                "setNull[2, 12]", "addBatch", "clearBatch"), calls);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.metrics;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dilipkumarg.qb.DeleteQueryBuilder;
+import com.dilipkumarg.qb.QPerson;
+import com.dilipkumarg.qb.SelectQueryBuilder;
+import com.dilipkumarg.qb.core.ArgumentSink;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class HistogramBuildListenerTest {
+    private final QPerson person = new QPerson();
+    private HistogramBuildListener listener;
+
+    @Before
+    public void setUp() {
+        listener = new HistogramBuildListener();
+        BuildListeners.setListener(listener);
+    }
+
+    @After
+    public void tearDown() {
+        BuildListeners.setListener(null);
+    }
+
+    @Test
+    public void testStatsPerBuilderType() {
+        new SelectQueryBuilder(person).where(person.name.eq("A")).build();
+        new SelectQueryBuilder(person).where(person.name.eq("B")).build();
+        new SelectQueryBuilder(person).where(person.age.in(Arrays.asList(1, 2, 3))).build();
+
+        BuildStats stats = listener.getStats(SelectQueryBuilder.class);
+        assertNotNull(stats);
+        assertNull(listener.getStats(DeleteQueryBuilder.class));
+        assertEquals(3, stats.getDurationNanos().getCount());
+        assertEquals(3, stats.getArgumentsCount().getMax());
+        assertEquals("SELECT * FROM PERSON person WHERE person.AGE IN (?,?,?)".length(),
+                stats.getQueryLength().getMax());
+        // first two differ only in values.
+        assertEquals(2, stats.getShapes().size());
+    }
+
+    @Test
+    public void testStreamedBuild() {
+        new DeleteQueryBuilder(person).where(person.name.eq("A")).build(new StringBuilder(),
+                new ArgumentSink() {
+                    @Override
+                    public void addArgument(Object value) {
+                    }
+                });
+        BuildStats stats = listener.getStats(DeleteQueryBuilder.class);
+        assertEquals(1, stats.getDurationNanos().getCount());
+        assertEquals("DELETE FROM PERSON WHERE NAME = ?".length(), stats.getQueryLength().getMax());
+        assertEquals(1, stats.getArgumentsCount().getMax());
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+        assertEquals(63, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InListBucketsTest {
+
+    @Test
+    public void testBucketSize() {
+        assertEquals(1, InListBuckets.bucketSize(1));
+        assertEquals(4, InListBuckets.bucketSize(2));
+        assertEquals(4, InListBuckets.bucketSize(4));
+        assertEquals(16, InListBuckets.bucketSize(5));
+        assertEquals(64, InListBuckets.bucketSize(17));
+        assertEquals(256, InListBuckets.bucketSize(256));
+        assertEquals(512, InListBuckets.bucketSize(257));
+    }
+
+    @Test
+    public void testPad() {
+        assertEquals(Arrays.<Object>asList("A", "B", "B", "B"), InListBuckets.pad(Arrays.asList("A", "B")));
+        assertEquals(Arrays.<Object>asList("A"), InListBuckets.pad(Arrays.asList("A")));
+    }
+}
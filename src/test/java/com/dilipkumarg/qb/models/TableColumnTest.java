@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-15 Dilip Kumar
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dilipkumarg.qb.models;
+
+import org.junit.Test;
+
+import com.dilipkumarg.qb.QPerson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class TableColumnTest {
+    private final QPerson person = new QPerson("p");
+
+    @Test
+    public void testFieldNames() {
+        assertEquals("NAME", person.name.getFieldName(false));
+        assertEquals("p.NAME", person.name.getFieldName(true));
+        assertSame(person.name.getFieldNameWithAlias(), person.name.getFieldName(true));
+    }
+
+    @Test
+    public void testQuotedFieldNames() {
+        assertEquals("NAME", person.name.getFieldName(false, IdentifierQuote.NONE));
+        assertEquals("\"NAME\"", person.name.getFieldName(false, IdentifierQuote.ANSI));
+        assertEquals("\"p\".\"NAME\"", person.name.getFieldName(true, IdentifierQuote.ANSI));
+        assertEquals("`p`.`NAME`", person.name.getFieldName(true, IdentifierQuote.BACKTICK));
+        assertEquals("[p].[NAME]", person.name.getFieldName(true, IdentifierQuote.BRACKET));
+        assertSame(person.name.getFieldName(true, IdentifierQuote.ANSI),
+                person.name.getFieldName(true, IdentifierQuote.ANSI));
+    }
+
+    @Test
+    public void testQuotedTableNames() {
+        assertEquals("PERSON p", person.getTableName(true, IdentifierQuote.NONE));
+        assertEquals("\"PERSON\"", person.getTableName(false, IdentifierQuote.ANSI));
+        assertEquals("\"PERSON\" \"p\"", person.getTableName(true, IdentifierQuote.ANSI));
+        assertEquals("[PERSON] [p]", person.getTableName(true, IdentifierQuote.BRACKET));
+        assertSame(person.getTableNameWithAlias(), person.getTableName(true));
+    }
+
+    @Test
+    public void testTypedConditions() {
+        WhereCondition condition = person.id.eq(1000);
+        assertEquals(ColumnType.LONG, person.id.getType());
+        assertEquals(ColumnType.LONG, condition.getValueType());
+        assertEquals(1000L, condition.getValueBits());
+        assertEquals(1000L, condition.getValue());
+        assertEquals(person.id.eq(1000L), condition);
+        assertNotEquals(person.id.eq(1001L), condition);
+        assertEquals("p.ID >= ?", person.id.ge(5).buildConditionWithAlias());
+
+        DoubleColumn salary = person.createDoubleColumn("SALARY");
+        assertEquals(2.5, salary.gt(2.5).getValue());
+        assertEquals(ColumnType.OBJECT, person.name.getType());
+        assertEquals(ColumnType.STRING, person.createStringColumn("CITY").getType());
+    }
+}